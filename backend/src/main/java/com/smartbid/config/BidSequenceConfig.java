@@ -0,0 +1,48 @@
+package com.smartbid.config;
+
+import com.smartbid.models.Bid;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * BidSequenceConfig moves the pooled bid id sequence past the existing bids at startup
+ * Bids used to take AUTO_INCREMENT ids, and on a database from before the pooled sequence the
+ * schema update creates bid_seq at 1, so the first blocks would hand out ids already taken.
+ * The sequence only ever moves forward, so running it again, or on several nodes at once, is harmless.
+ */
+@Configuration
+public class BidSequenceConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(BidSequenceConfig.class);
+
+    // The entity manager factory runs the schema update, so bid_seq exists once it is injected
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void seedBidSequence() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        if (sessionFactory.getJdbcServices().getDialect().getSequenceSupport().supportsSequences()) {
+            // Only the table that stands in for a sequence on MySQL is seeded here
+            return;
+        }
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM bids", Long.class);
+        if (maxId == null) {
+            return;
+        }
+        // A pooled block hands out next_val - 49 .. next_val, so the first one must start above the last bid
+        long floor = maxId + Bid.ID_ALLOCATION_SIZE + 1;
+        if (jdbcTemplate.update("UPDATE bid_seq SET next_val = ? WHERE next_val < ?", floor, floor) > 0) {
+            logger.warn("Moved bid_seq to {}, past the highest existing bid id {}", floor, maxId);
+        }
+    }
+}
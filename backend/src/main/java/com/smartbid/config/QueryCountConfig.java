@@ -0,0 +1,73 @@
+package com.smartbid.config;
+
+import com.smartbid.services.SqlStatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Map;
+
+/**
+ * QueryCountConfig records how many SQL statements each request runs
+ * The count per endpoint goes to smartbid.http.sql-statements, and a request above the
+ * threshold is logged with its route, so an N+1 introduced on a list or bid path is
+ * visible on the first request that hits it.
+ */
+@Configuration
+public class QueryCountConfig implements HibernatePropertiesCustomizer, WebMvcConfigurer {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryCountConfig.class);
+
+    @Value("${smartbid.jpa.statement-warn-threshold:25}")
+    private int warnThreshold;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementCounter);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                sqlStatementCounter.reset();
+                return true;
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                        Object handler, Exception ex) {
+                int statements = sqlStatementCounter.reset();
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                String route = pattern != null ? pattern.toString() : "UNKNOWN";
+                DistributionSummary.builder("smartbid.http.sql-statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", route)
+                    .register(meterRegistry)
+                    .record(statements);
+                if (statements > warnThreshold) {
+                    logger.warn("{} {} ran {} SQL statements", request.getMethod(), route, statements);
+                }
+            }
+        });
+    }
+}
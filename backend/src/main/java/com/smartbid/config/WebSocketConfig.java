@@ -0,0 +1,51 @@
+package com.smartbid.config;
+
+import com.smartbid.services.AuctionPricePublisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+/**
+ * WebSocketConfig exposes the STOMP endpoint used for live auction updates
+ * Clients connect to /ws and subscribe to /topic/auctions/{auctionId}; a session whose socket
+ * cannot keep up within the send limits below is closed by the transport
+ */
+@Configuration
+@EnableWebSocketMessageBroker
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    @Value("${smartbid.websocket.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
+    @Value("${smartbid.websocket.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    // Lazy, the publisher needs the outbound channel this configuration creates
+    @Autowired
+    @Lazy
+    private AuctionPricePublisher auctionPricePublisher;
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint("/ws").setAllowedOriginPatterns("*");
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.enableSimpleBroker("/topic");
+        registry.setApplicationDestinationPrefixes("/app");
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMs).setSendBufferSizeLimit(sendBufferSizeLimit);
+        // Lets the auction fan-out see when a frame actually reaches the socket
+        registration.addDecoratorFactory(handler -> auctionPricePublisher.decorate(handler));
+    }
+}
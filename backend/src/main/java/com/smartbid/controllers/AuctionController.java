@@ -2,17 +2,23 @@ package com.smartbid.controllers;
 
 import com.smartbid.models.Auction;
 import com.smartbid.models.User;
+import com.smartbid.repositories.AuctionSummary;
+import com.smartbid.services.AuctionDetail;
 import com.smartbid.services.AuctionService;
+import com.smartbid.services.AuctionTickerService;
 import com.smartbid.services.UserService;
+import com.smartbid.services.WatchlistService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import jakarta.validation.Valid;
 import java.math.BigDecimal;
@@ -33,11 +39,17 @@ public class AuctionController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private AuctionTickerService auctionTickerService;
+
+    @Autowired
+    private WatchlistService watchlistService;
+
     /**
      * Get all auctions with pagination and filtering
      */
     @GetMapping
-    public ResponseEntity<Page<Auction>> getAllAuctions(
+    public ResponseEntity<?> getAllAuctions(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(required = false) String category,
@@ -45,29 +57,26 @@ public class AuctionController {
             @RequestParam(required = false) BigDecimal minPrice,
             @RequestParam(required = false) BigDecimal maxPrice,
             @RequestParam(required = false) String condition,
-            @RequestParam(required = false) String status) {
-        
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Auction> auctions;
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String cursor) {
         
-        if (category != null || location != null || minPrice != null || maxPrice != null || condition != null) {
-            auctions = auctionService.searchAuctions(category, location, minPrice, maxPrice, condition, pageable);
-        } else if (status != null) {
-            Auction.AuctionStatus auctionStatus = Auction.AuctionStatus.valueOf(status.toUpperCase());
-            auctions = auctionService.getAuctionsByStatus(auctionStatus, pageable);
-        } else {
-            auctions = auctionService.getAllAuctions(pageable);
+        try {
+            Pageable pageable = PageRequest.of(page, size);
+            AuctionService.AuctionBrowseResult auctions = auctionService.browseAuctions(
+                category, location, minPrice, maxPrice, condition, status, type, cursor, pageable);
+            return ResponseEntity.ok(auctions);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error retrieving auctions: " + e.getMessage());
         }
-        
-        return ResponseEntity.ok(auctions);
     }
 
     /**
      * Get auction by ID
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Auction> getAuctionById(@PathVariable Long id) {
-        Optional<Auction> auction = auctionService.findById(id);
+    public ResponseEntity<AuctionDetail> getAuctionById(@PathVariable Long id) {
+        Optional<AuctionDetail> auction = auctionService.getAuctionDetailAndIncrementView(id);
         return auction.map(ResponseEntity::ok)
                      .orElse(ResponseEntity.notFound().build());
     }
@@ -149,20 +158,73 @@ public class AuctionController {
         }
     }
 
+    /**
+     * Watch an auction, optionally alerting when the price reaches priceAlert
+     */
+    @PostMapping("/{id}/watch")
+    public ResponseEntity<?> watchAuction(@PathVariable Long id,
+                                          @RequestParam(required = false) BigDecimal priceAlert) {
+        try {
+            User currentUser = getCurrentUser();
+            if (currentUser == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not authenticated");
+            }
+
+            watchlistService.watchAuction(id, currentUser, priceAlert);
+            return ResponseEntity.ok("Auction added to watchlist");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error watching auction: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stop watching an auction
+     */
+    @DeleteMapping("/{id}/watch")
+    public ResponseEntity<?> unwatchAuction(@PathVariable Long id) {
+        try {
+            User currentUser = getCurrentUser();
+            if (currentUser == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not authenticated");
+            }
+
+            watchlistService.unwatchAuction(id, currentUser);
+            return ResponseEntity.ok("Auction removed from watchlist");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error removing auction from watchlist: " + e.getMessage());
+        }
+    }
+
     /**
      * Get auctions by seller
      */
     @GetMapping("/seller/{sellerId}")
-    public ResponseEntity<Page<Auction>> getAuctionsBySeller(
+    public ResponseEntity<Page<AuctionSummary>> getAuctionsBySeller(
             @PathVariable Long sellerId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<Auction> auctions = auctionService.getAuctionsBySeller(sellerId, pageable);
+        Page<AuctionSummary> auctions = auctionService.getAuctionsBySeller(sellerId, pageable);
         return ResponseEntity.ok(auctions);
     }
 
+    /**
+     * Scroll through a seller's auctions with a continuation cursor
+     */
+    @GetMapping("/seller/{sellerId}/scroll")
+    public ResponseEntity<?> scrollAuctionsBySeller(
+            @PathVariable Long sellerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeCount) {
+        try {
+            return ResponseEntity.ok(auctionService.getAuctionsBySeller(sellerId, cursor, size, includeCount));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error retrieving auctions: " + e.getMessage());
+        }
+    }
+
     /**
      * Get my auctions (current user)
      */
@@ -177,7 +239,7 @@ public class AuctionController {
         }
 
         Pageable pageable = PageRequest.of(page, size);
-        Page<Auction> auctions = auctionService.getAuctionsBySeller(currentUser.getId(), pageable);
+        Page<AuctionSummary> auctions = auctionService.getAuctionsBySeller(currentUser.getId(), pageable);
         return ResponseEntity.ok(auctions);
     }
 
@@ -185,17 +247,25 @@ public class AuctionController {
      * Get ending soon auctions
      */
     @GetMapping("/ending-soon")
-    public ResponseEntity<List<Auction>> getEndingSoonAuctions() {
-        List<Auction> auctions = auctionService.getEndingSoonAuctions();
+    public ResponseEntity<List<AuctionSummary>> getEndingSoonAuctions() {
+        List<AuctionSummary> auctions = auctionService.getEndingSoonAuctions();
         return ResponseEntity.ok(auctions);
     }
 
+    /**
+     * Stream changes to the ending soon and popular lists as server-sent events
+     */
+    @GetMapping(value = "/ticker", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTicker() {
+        return auctionTickerService.subscribe();
+    }
+
     /**
      * Get popular auctions
      */
     @GetMapping("/popular")
-    public ResponseEntity<List<Auction>> getPopularAuctions() {
-        List<Auction> auctions = auctionService.getPopularAuctions();
+    public ResponseEntity<List<AuctionSummary>> getPopularAuctions() {
+        List<AuctionSummary> auctions = auctionService.getPopularAuctions();
         return ResponseEntity.ok(auctions);
     }
 
@@ -203,8 +273,8 @@ public class AuctionController {
      * Get similar auctions
      */
     @GetMapping("/{id}/similar")
-    public ResponseEntity<List<Auction>> getSimilarAuctions(@PathVariable Long id) {
-        List<Auction> auctions = auctionService.getSimilarAuctions(id);
+    public ResponseEntity<List<AuctionSummary>> getSimilarAuctions(@PathVariable Long id) {
+        List<AuctionSummary> auctions = auctionService.getSimilarAuctions(id);
         return ResponseEntity.ok(auctions);
     }
 
@@ -221,13 +291,13 @@ public class AuctionController {
      * Search auctions by keyword
      */
     @GetMapping("/search")
-    public ResponseEntity<Page<Auction>> searchAuctions(
+    public ResponseEntity<Page<AuctionSummary>> searchAuctions(
             @RequestParam String query,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<Auction> auctions = auctionService.searchAuctionsByTitle(query, pageable);
+        Page<AuctionSummary> auctions = auctionService.searchAuctionsByTitle(query, pageable);
         return ResponseEntity.ok(auctions);
     }
 
@@ -2,6 +2,7 @@ package com.smartbid.controllers;
 
 import com.smartbid.models.Bid;
 import com.smartbid.models.User;
+import com.smartbid.repositories.BidSummary;
 import com.smartbid.services.BidService;
 import com.smartbid.services.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +19,8 @@ import jakarta.validation.Valid;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * REST Controller for Bid operations
@@ -37,23 +40,21 @@ public class BidController {
      * Place a new bid
      */
     @PostMapping
-    public ResponseEntity<?> placeBid(@Valid @RequestBody BidRequest bidRequest) {
-        try {
-            User currentUser = getCurrentUser();
-            if (currentUser == null) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not authenticated");
-            }
+    public CompletableFuture<ResponseEntity<?>> placeBid(@Valid @RequestBody BidRequest bidRequest) {
+        User currentUser = getCurrentUser();
+        if (currentUser == null) {
+            return CompletableFuture.completedFuture(
+                ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not authenticated"));
+        }
 
-            Bid bid = bidService.placeBid(
-                bidRequest.getAuctionId(),
-                bidRequest.getBidAmount(),
-                currentUser
-            );
+        // Bids are applied in order on the auction's sequencer lane; a max bid amount makes it a proxy bid
+        CompletableFuture<Bid> placement = bidRequest.getMaxBidAmount() != null
+            ? bidService.submitProxyBid(bidRequest.getAuctionId(), bidRequest.getMaxBidAmount(), currentUser)
+            : bidService.submitBid(bidRequest.getAuctionId(), bidRequest.getBidAmount(), currentUser);
 
-            return ResponseEntity.status(HttpStatus.CREATED).body(bid);
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body("Error placing bid: " + e.getMessage());
-        }
+        return placement
+            .<ResponseEntity<?>>thenApply(bid -> ResponseEntity.status(HttpStatus.CREATED).body(bid))
+            .exceptionally(e -> ResponseEntity.badRequest().body("Error placing bid: " + unwrap(e).getMessage()));
     }
 
     /**
@@ -89,16 +90,32 @@ public class BidController {
      * Get bids for an auction
      */
     @GetMapping("/auction/{auctionId}")
-    public ResponseEntity<Page<Bid>> getBidsByAuction(
+    public ResponseEntity<Page<BidSummary>> getBidsByAuction(
             @PathVariable Long auctionId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<Bid> bids = bidService.getBidsByAuction(auctionId, pageable);
+        Page<BidSummary> bids = bidService.getBidsByAuction(auctionId, pageable);
         return ResponseEntity.ok(bids);
     }
 
+    /**
+     * Scroll through bids for an auction with a continuation cursor
+     */
+    @GetMapping("/auction/{auctionId}/scroll")
+    public ResponseEntity<?> scrollBidsByAuction(
+            @PathVariable Long auctionId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeCount) {
+        try {
+            return ResponseEntity.ok(bidService.getBidsByAuction(auctionId, cursor, size, includeCount));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error retrieving bids: " + e.getMessage());
+        }
+    }
+
     /**
      * Get my bids (current user)
      */
@@ -114,7 +131,7 @@ public class BidController {
         }
 
         Pageable pageable = PageRequest.of(page, size);
-        Page<Bid> bids;
+        Page<BidSummary> bids;
         
         if (status != null) {
             // For now, return all bids - can be filtered later
@@ -126,6 +143,25 @@ public class BidController {
         return ResponseEntity.ok(bids);
     }
 
+    /**
+     * Scroll through my bids with a continuation cursor
+     */
+    @GetMapping("/my-bids/scroll")
+    public ResponseEntity<?> scrollMyBids(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeCount) {
+        try {
+            User currentUser = getCurrentUser();
+            if (currentUser == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not authenticated");
+            }
+            return ResponseEntity.ok(bidService.getBidsByUser(currentUser.getId(), cursor, size, includeCount));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error retrieving bids: " + e.getMessage());
+        }
+    }
+
     /**
      * Get winning bids for user
      */
@@ -136,7 +172,7 @@ public class BidController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not authenticated");
         }
 
-        Page<Bid> winningBids = bidService.getWinningBidsForUser(currentUser.getId(), PageRequest.of(0, 20));
+        Page<BidSummary> winningBids = bidService.getWinningBidsForUser(currentUser.getId(), PageRequest.of(0, 20));
         return ResponseEntity.ok(winningBids.getContent());
     }
 
@@ -144,36 +180,36 @@ public class BidController {
      * Retract a bid (if allowed)
      */
     @DeleteMapping("/{bidId}")
-    public ResponseEntity<?> retractBid(@PathVariable Long bidId) {
-        try {
-            User currentUser = getCurrentUser();
-            if (currentUser == null) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not authenticated");
-            }
-
-            // Check if bid belongs to current user
-            Optional<Bid> bid = bidService.getBidById(bidId);
-            if (bid.isEmpty()) {
-                return ResponseEntity.notFound().build();
-            }
+    public CompletableFuture<ResponseEntity<?>> retractBid(@PathVariable Long bidId) {
+        User currentUser = getCurrentUser();
+        if (currentUser == null) {
+            return CompletableFuture.completedFuture(
+                ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not authenticated"));
+        }
 
-            if (!bid.get().getBidder().getId().equals(currentUser.getId())) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("You can only retract your own bids");
-            }
+        // Check if bid belongs to current user
+        Optional<Bid> bid = bidService.getBidById(bidId);
+        if (bid.isEmpty()) {
+            return CompletableFuture.completedFuture(ResponseEntity.notFound().build());
+        }
 
-            bidService.retractBid(bidId, currentUser, "User requested retraction");
-            return ResponseEntity.ok().body("Bid retracted successfully");
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body("Error retracting bid: " + e.getMessage());
+        if (!bid.get().getBidder().getId().equals(currentUser.getId())) {
+            return CompletableFuture.completedFuture(
+                ResponseEntity.status(HttpStatus.FORBIDDEN).body("You can only retract your own bids"));
         }
+
+        // Retractions are applied in order with bids on the auction's sequencer lane
+        return bidService.submitRetraction(bidId, currentUser, "User requested retraction")
+            .<ResponseEntity<?>>thenApply(retracted -> ResponseEntity.ok().body("Bid retracted successfully"))
+            .exceptionally(e -> ResponseEntity.badRequest().body("Error retracting bid: " + unwrap(e).getMessage()));
     }
 
     /**
      * Get bid history for auction
      */
     @GetMapping("/auction/{auctionId}/history")
-    public ResponseEntity<List<Bid>> getBidHistory(@PathVariable Long auctionId) {
-        Page<Bid> bidHistoryPage = bidService.getBidsByAuction(auctionId, PageRequest.of(0, 100));
+    public ResponseEntity<List<BidSummary>> getBidHistory(@PathVariable Long auctionId) {
+        Page<BidSummary> bidHistoryPage = bidService.getBidsByAuction(auctionId, PageRequest.of(0, 100));
         return ResponseEntity.ok(bidHistoryPage.getContent());
     }
 
@@ -201,6 +237,23 @@ public class BidController {
                         .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Get minimum acceptable next bid for auction
+     */
+    @GetMapping("/auction/{auctionId}/minimum")
+    public ResponseEntity<BigDecimal> getMinimumNextBid(@PathVariable Long auctionId) {
+        Optional<BigDecimal> minimumBid = bidService.getMinimumNextBid(auctionId);
+        return minimumBid.map(ResponseEntity::ok)
+                         .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Helper method to unwrap failures raised on a sequencer lane
+     */
+    private Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
     /**
      * Helper method to get current authenticated user
      */
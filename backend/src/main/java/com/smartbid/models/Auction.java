@@ -89,11 +89,11 @@ public class Auction {
     @Column(name = "quality_score", precision = 3, scale = 2)
     private BigDecimal qualityScore; // AI-assessed quality score (0-10)
 
-    // Auction metrics
-    @Column(name = "view_count")
+    // Auction metrics (view and watch counts are written by AuctionEngagementCounters, not entity updates)
+    @Column(name = "view_count", updatable = false)
     private Integer viewCount = 0;
 
-    @Column(name = "watch_count")
+    @Column(name = "watch_count", updatable = false)
     private Integer watchCount = 0;
 
     @Column(name = "bid_count")
@@ -193,6 +193,11 @@ public class Auction {
     }
 
     public BigDecimal getMinimumNextBid() {
+        return calculateMinimumNextBid(currentPrice, startingPrice);
+    }
+
+    // Shared with the in-memory order book so both apply the same increment rule
+    public static BigDecimal calculateMinimumNextBid(BigDecimal currentPrice, BigDecimal startingPrice) {
         if (currentPrice == null) {
             return startingPrice;
         }
@@ -3,6 +3,7 @@ package com.smartbid.models;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
@@ -28,6 +29,9 @@ public class AuctionWatch {
     @Column(name = "sms_alerts")
     private Boolean smsAlerts = false;
 
+    @Column(name = "price_alert", precision = 15, scale = 2)
+    private BigDecimal priceAlert;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -62,6 +66,9 @@ public class AuctionWatch {
     public Boolean getSmsAlerts() { return smsAlerts; }
     public void setSmsAlerts(Boolean smsAlerts) { this.smsAlerts = smsAlerts; }
 
+    public BigDecimal getPriceAlert() { return priceAlert; }
+    public void setPriceAlert(BigDecimal priceAlert) { this.priceAlert = priceAlert; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
@@ -15,9 +15,12 @@ import java.time.LocalDateTime;
 @Table(name = "bids")
 public class Bid {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bid_seq")
+    @SequenceGenerator(name = "bid_seq", sequenceName = "bid_seq", allocationSize = ID_ALLOCATION_SIZE)
+    private Long id; // Pooled sequence so bid inserts can be batched
 
     @NotNull(message = "Bid amount is required")
     @DecimalMin(value = "0.01", message = "Bid amount must be greater than 0")
@@ -83,7 +86,7 @@ public class Bid {
 
     // Enums
     public enum BidStatus {
-        ACTIVE, OUTBID, WINNING, WON, RETRACTED, REJECTED
+        ACTIVE, OUTBID, WINNING, WON, LOST, RETRACTED, REJECTED
     }
 
     public enum BidType {
@@ -0,0 +1,79 @@
+package com.smartbid.models;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notification entity for in-app user notifications
+ * Rows are written in batches by the notification pipeline
+ */
+@Entity
+@Table(name = "notifications")
+public class Notification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationType type;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String message;
+
+    @Column(name = "is_read")
+    private Boolean isRead = false;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    // Relationships
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "related_auction_id")
+    private Auction relatedAuction;
+
+    // Constructors
+    public Notification() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public NotificationType getType() { return type; }
+    public void setType(NotificationType type) { this.type = type; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public Boolean getIsRead() { return isRead; }
+    public void setIsRead(Boolean isRead) { this.isRead = isRead; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+
+    public Auction getRelatedAuction() { return relatedAuction; }
+    public void setRelatedAuction(Auction relatedAuction) { this.relatedAuction = relatedAuction; }
+
+    // Enums
+    public enum NotificationType {
+        BID_PLACED, OUTBID, AUCTION_WON, AUCTION_LOST, AUCTION_SOLD, AUCTION_ENDED, AUCTION_ENDING_SOON,
+        RESERVE_NOT_MET, PAYMENT_RECEIVED, PAYMENT_REMINDER, PRICE_ALERT, WELCOME, ACCOUNT_VERIFICATION
+    }
+}
@@ -5,6 +5,7 @@ import com.smartbid.models.Auction.AuctionStatus;
 import com.smartbid.models.Auction.AuctionType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,11 +13,24 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AuctionRepository extends JpaRepository<Auction, Long> {
+
+    // Columns of the AuctionSummary card view; list queries select these instead of whole entities
+    String SUMMARY_SELECT =
+        "SELECT a.id AS id, a.title AS title, a.featuredImageUrl AS featuredImageUrl, a.category AS category, " +
+        "a.conditionType AS conditionType, a.status AS status, a.type AS type, a.currentPrice AS currentPrice, " +
+        "a.buyNowPrice AS buyNowPrice, a.shippingLocation AS shippingLocation, a.startTime AS startTime, " +
+        "a.endTime AS endTime, a.bidCount AS bidCount, a.watchCount AS watchCount, " +
+        "u.id AS sellerId, u.username AS sellerUsername FROM Auction a JOIN a.user u ";
+
+    // Find an auction with its seller, for building the cached detail view
+    @EntityGraph(attributePaths = "user")
+    Optional<Auction> findWithUserById(Long id);
     
     // Find auctions by status
     Page<Auction> findByStatus(AuctionStatus status, Pageable pageable);
@@ -28,12 +42,43 @@ public interface AuctionRepository extends JpaRepository<Auction, Long> {
     // Find auctions ending soon
     @Query("SELECT a FROM Auction a WHERE a.status = 'ACTIVE' AND a.endTime BETWEEN :now AND :endTime ORDER BY a.endTime ASC")
     List<Auction> findAuctionsEndingSoon(@Param("now") LocalDateTime now, @Param("endTime") LocalDateTime endTime);
+
+    @Query(SUMMARY_SELECT + "WHERE a.status = 'ACTIVE' AND a.endTime BETWEEN :now AND :endTime ORDER BY a.endTime ASC")
+    List<AuctionSummary> findEndingSoonSummaries(@Param("now") LocalDateTime now, @Param("endTime") LocalDateTime endTime);
+    
+    // Find auctions that still have a lifecycle transition ahead of them
+    List<Auction> findByStatusIn(Collection<AuctionStatus> statuses);
+    
+    // Find auctions whose start time has passed while still in the given status
+    @Query("SELECT a.id FROM Auction a WHERE a.status = :status AND a.startTime <= :now")
+    List<Long> findIdsByStatusAndStartTimeBefore(@Param("status") AuctionStatus status, @Param("now") LocalDateTime now);
+    
+    // Find auctions whose end time has passed while still in the given status
+    @Query("SELECT a.id FROM Auction a WHERE a.status = :status AND a.endTime <= :now")
+    List<Long> findIdsByStatusAndEndTimeBefore(@Param("status") AuctionStatus status, @Param("now") LocalDateTime now);
     
     // Find auctions by category
     Page<Auction> findByCategoryIgnoreCase(String category, Pageable pageable);
     
     // Find auctions by user
     Page<Auction> findByUserId(Long userId, Pageable pageable);
+
+    // Card views of a seller's auctions, latest ending first
+    @Query(value = SUMMARY_SELECT + "WHERE u.id = :userId ORDER BY a.endTime DESC, a.id DESC",
+           countQuery = "SELECT COUNT(a) FROM Auction a WHERE a.user.id = :userId")
+    Page<AuctionSummary> findSummariesBySeller(@Param("userId") Long userId, Pageable pageable);
+
+    // Keyset pages of a seller's auctions, latest ending first, seeking past (end_time, id)
+    @Query(SUMMARY_SELECT + "WHERE u.id = :userId ORDER BY a.endTime DESC, a.id DESC")
+    List<AuctionSummary> findSellerAuctionsFirst(@Param("userId") Long userId, Pageable limit);
+
+    @Query(SUMMARY_SELECT + "WHERE u.id = :userId " +
+           "AND (a.endTime < :endTime OR (a.endTime = :endTime AND a.id < :id)) " +
+           "ORDER BY a.endTime DESC, a.id DESC")
+    List<AuctionSummary> findSellerAuctionsAfter(@Param("userId") Long userId, @Param("endTime") LocalDateTime endTime,
+                                          @Param("id") Long id, Pageable limit);
+
+    long countByUserId(Long userId);
     
     // Search auctions by title or description
     @Query("SELECT a FROM Auction a WHERE LOWER(a.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
@@ -59,6 +104,14 @@ public interface AuctionRepository extends JpaRepository<Auction, Long> {
     @Query("SELECT a FROM Auction a WHERE a.status = 'ACTIVE' AND " +
            "(a.bidCount >= 5 OR a.watchCount >= 10) ORDER BY a.bidCount DESC, a.watchCount DESC")
     List<Auction> findFeaturedAuctions(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE a.status = 'ACTIVE' AND " +
+           "(a.bidCount >= 5 OR a.watchCount >= 10) ORDER BY a.bidCount DESC, a.watchCount DESC")
+    List<AuctionSummary> findFeaturedSummaries(Pageable pageable);
+
+    // Card views for ids ranked elsewhere (search and facet indexes); callers restore the order
+    @Query(SUMMARY_SELECT + "WHERE a.id IN :ids")
+    List<AuctionSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
     
     // Find popular auctions by category
     @Query("SELECT a FROM Auction a WHERE a.status = 'ACTIVE' AND " +
@@ -85,10 +138,10 @@ public interface AuctionRepository extends JpaRepository<Auction, Long> {
     int updateEndedAuctions(@Param("now") LocalDateTime now);
     
     // Find similar auctions by category and price range
-    @Query("SELECT a FROM Auction a WHERE a.id != :auctionId AND " +
+    @Query(SUMMARY_SELECT + "WHERE a.id != :auctionId AND " +
            "LOWER(a.category) = LOWER(:category) AND a.status = 'ACTIVE' AND " +
            "a.currentPrice BETWEEN :minPrice AND :maxPrice ORDER BY ABS(a.currentPrice - :targetPrice)")
-    List<Auction> findSimilarAuctions(
+    List<AuctionSummary> findSimilarAuctions(
             @Param("auctionId") Long auctionId,
             @Param("category") String category,
             @Param("minPrice") BigDecimal minPrice,
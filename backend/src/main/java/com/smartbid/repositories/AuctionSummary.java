@@ -0,0 +1,33 @@
+package com.smartbid.repositories;
+
+import com.smartbid.models.Auction.AuctionStatus;
+import com.smartbid.models.Auction.AuctionType;
+import com.smartbid.models.Auction.ConditionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * AuctionSummary is the card view of an auction used by list endpoints
+ * It is filled from the columns selected by AuctionRepository.SUMMARY_SELECT only, so listings
+ * never read the TEXT columns or touch the lazy seller, bid and watcher associations.
+ */
+public interface AuctionSummary {
+
+    Long getId();
+    String getTitle();
+    String getFeaturedImageUrl();
+    String getCategory();
+    ConditionType getConditionType();
+    AuctionStatus getStatus();
+    AuctionType getType();
+    BigDecimal getCurrentPrice();
+    BigDecimal getBuyNowPrice();
+    String getShippingLocation();
+    LocalDateTime getStartTime();
+    LocalDateTime getEndTime();
+    Integer getBidCount();
+    Integer getWatchCount();
+    Long getSellerId();
+    String getSellerUsername();
+}
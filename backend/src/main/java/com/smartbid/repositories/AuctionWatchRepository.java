@@ -3,19 +3,22 @@ package com.smartbid.repositories;
 import com.smartbid.models.AuctionWatch;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AuctionWatchRepository extends JpaRepository<AuctionWatch, Long> {
     
-    // Find user's watchlist
+    // Find user's watchlist; every row shows its auction, so it is joined in rather than loaded per row
+    @EntityGraph(attributePaths = "auction")
     Page<AuctionWatch> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
     
     // Find watchers for an auction
@@ -27,6 +30,10 @@ public interface AuctionWatchRepository extends JpaRepository<AuctionWatch, Long
     
     // Find specific watch relationship
     Optional<AuctionWatch> findByUserIdAndAuctionId(Long userId, Long auctionId);
+
+    // Same, with the auction fetched in the same statement
+    @EntityGraph(attributePaths = "auction")
+    Optional<AuctionWatch> findWithAuctionByUserIdAndAuctionId(Long userId, Long auctionId);
     
     // Count watchers for an auction
     @Query("SELECT COUNT(aw) FROM AuctionWatch aw WHERE aw.auction.id = :auctionId")
@@ -48,16 +55,27 @@ public interface AuctionWatchRepository extends JpaRepository<AuctionWatch, Long
     
     // Find ending soon notifications (auctions ending in next hour that user is watching)
     @Query("SELECT aw FROM AuctionWatch aw WHERE aw.user.id = :userId AND aw.auction.status = 'ACTIVE' " +
-           "AND aw.auction.endTime BETWEEN :now AND :oneHourLater AND aw.notificationsEnabled = true")
+           "AND aw.auction.endTime BETWEEN :now AND :oneHourLater AND aw.notificationEnabled = true")
     List<AuctionWatch> findEndingSoonNotifications(@Param("userId") Long userId, 
                                                   @Param("now") LocalDateTime now, 
                                                   @Param("oneHourLater") LocalDateTime oneHourLater);
     
-    // Find price alert notifications
+    // Opted-in watchers of a batch of auctions as (auctionId, userId, emailAlerts) rows
+    @Query("SELECT aw.auction.id, aw.user.id, aw.emailAlerts FROM AuctionWatch aw " +
+           "WHERE aw.auction.id IN :auctionIds AND aw.notificationEnabled = true")
+    List<Object[]> findNotificationRecipients(@Param("auctionIds") Collection<Long> auctionIds);
+    
+    // Find price alert notifications (alerts the current price has already reached)
     @Query("SELECT aw FROM AuctionWatch aw WHERE aw.auction.status = 'ACTIVE' AND aw.priceAlert IS NOT NULL " +
-           "AND aw.auction.currentPrice <= aw.priceAlert AND aw.notificationsEnabled = true")
+           "AND aw.auction.currentPrice >= aw.priceAlert AND aw.notificationEnabled = true")
     List<AuctionWatch> findPriceAlertNotifications();
     
+    // Pending price alerts as (auctionId, userId, priceAlert) rows, used to build the in-memory alert index
+    @Query("SELECT aw.auction.id, aw.user.id, aw.priceAlert FROM AuctionWatch aw " +
+           "WHERE aw.priceAlert IS NOT NULL AND aw.notificationEnabled = true " +
+           "AND aw.auction.status IN ('UPCOMING', 'ACTIVE')")
+    List<Object[]> findPendingPriceAlerts();
+    
     // Find most watched auctions
     @Query("SELECT aw.auction.id, COUNT(aw) as watchCount FROM AuctionWatch aw " +
            "WHERE aw.auction.status = 'ACTIVE' GROUP BY aw.auction.id ORDER BY watchCount DESC")
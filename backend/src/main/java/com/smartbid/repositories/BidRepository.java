@@ -2,35 +2,96 @@ package com.smartbid.repositories;
 
 import com.smartbid.models.Bid;
 import com.smartbid.models.Bid.BidStatus;
+import com.smartbid.models.Bid.BidType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BidRepository extends JpaRepository<Bid, Long> {
-    
+
+    // Columns of the BidSummary row view; bid listings select these instead of whole entities
+    String SUMMARY_SELECT =
+        "SELECT b.id AS id, b.bidAmount AS bidAmount, b.status AS status, b.type AS type, b.createdAt AS createdAt, " +
+        "a.id AS auctionId, a.title AS auctionTitle, u.id AS bidderId, u.username AS bidderUsername " +
+        "FROM Bid b JOIN b.auction a JOIN b.bidder u ";
+    
+    // Find the leading bid of an auction with its bidder, for closing it (the winner is notified and emailed)
+    @EntityGraph(attributePaths = "bidder")
+    Optional<Bid> findFirstByAuctionIdAndStatusInOrderByBidAmountDescCreatedAtAsc(Long auctionId, Collection<BidStatus> statuses);
+
+    // Find a bid with its auction, for retraction checks against the auction state
+    @EntityGraph(attributePaths = "auction")
+    Optional<Bid> findWithAuctionById(Long id);
+
     // Find bids by auction ID
     Page<Bid> findByAuctionIdOrderByBidAmountDescCreatedAtDesc(Long auctionId, Pageable pageable);
     
     // Find bids by user ID
     Page<Bid> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
+
+    // Row views of an auction's bids, highest first
+    @Query(value = SUMMARY_SELECT + "WHERE a.id = :auctionId ORDER BY b.bidAmount DESC, b.createdAt DESC, b.id DESC",
+           countQuery = "SELECT COUNT(b) FROM Bid b WHERE b.auction.id = :auctionId")
+    Page<BidSummary> findSummariesByAuction(@Param("auctionId") Long auctionId, Pageable pageable);
+
+    // Row views of a user's bids, newest first
+    @Query(value = SUMMARY_SELECT + "WHERE u.id = :userId ORDER BY b.createdAt DESC, b.id DESC",
+           countQuery = "SELECT COUNT(b) FROM Bid b WHERE b.bidder.id = :userId")
+    Page<BidSummary> findSummariesByBidder(@Param("userId") Long userId, Pageable pageable);
+
+    // Keyset pages of an auction's bids, highest first, seeking past (bid_amount, created_at, id)
+    @Query(SUMMARY_SELECT + "WHERE a.id = :auctionId ORDER BY b.bidAmount DESC, b.createdAt DESC, b.id DESC")
+    List<BidSummary> findAuctionBidsFirst(@Param("auctionId") Long auctionId, Pageable limit);
+
+    @Query(SUMMARY_SELECT + "WHERE a.id = :auctionId AND (b.bidAmount < :bidAmount " +
+           "OR (b.bidAmount = :bidAmount AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id)))) " +
+           "ORDER BY b.bidAmount DESC, b.createdAt DESC, b.id DESC")
+    List<BidSummary> findAuctionBidsAfter(@Param("auctionId") Long auctionId, @Param("bidAmount") BigDecimal bidAmount,
+                                   @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable limit);
+
+    // Keyset pages of a user's bids, newest first, seeking past (created_at, id)
+    @Query(SUMMARY_SELECT + "WHERE u.id = :userId ORDER BY b.createdAt DESC, b.id DESC")
+    List<BidSummary> findUserBidsFirst(@Param("userId") Long userId, Pageable limit);
+
+    @Query(SUMMARY_SELECT + "WHERE u.id = :userId " +
+           "AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id)) " +
+           "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BidSummary> findUserBidsAfter(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                @Param("id") Long id, Pageable limit);
+
+    long countByAuctionId(Long auctionId);
+
+    long countByBidderId(Long bidderId);
     
     // Find highest bid for an auction
     @Query("SELECT b FROM Bid b WHERE b.auction.id = :auctionId AND b.status = 'ACTIVE' ORDER BY b.bidAmount DESC, b.createdAt ASC")
     Optional<Bid> findHighestBidByAuction(@Param("auctionId") Long auctionId);
     
     // Find user's highest bid for an auction
-    @Query("SELECT b FROM Bid b WHERE b.auction.id = :auctionId AND b.user.id = :userId AND b.status = 'ACTIVE' ORDER BY b.bidAmount DESC")
+    @Query("SELECT b FROM Bid b WHERE b.auction.id = :auctionId AND b.bidder.id = :userId AND b.status = 'ACTIVE' ORDER BY b.bidAmount DESC")
     Optional<Bid> findUserHighestBidForAuction(@Param("auctionId") Long auctionId, @Param("userId") Long userId);
     
+    // Load the top of the order book for an auction
+    List<Bid> findTop2ByAuctionIdAndStatusInOrderByBidAmountDescCreatedAtAsc(Long auctionId, Collection<BidStatus> statuses);
+    
+    // Load live proxy ceilings for an auction
+    List<Bid> findByAuctionIdAndTypeAndStatusIn(Long auctionId, BidType type, Collection<BidStatus> statuses);
+    
     // Find all active bids for an auction
     List<Bid> findByAuctionIdAndStatusOrderByBidAmountDesc(Long auctionId, BidStatus status);
     
@@ -38,23 +99,24 @@ public interface BidRepository extends JpaRepository<Bid, Long> {
     Page<Bid> findByStatus(BidStatus status, Pageable pageable);
     
     // Find winning bids for a user
-    @Query("SELECT b FROM Bid b WHERE b.user.id = :userId AND b.status = 'WINNING' ORDER BY b.createdAt DESC")
-    Page<Bid> findWinningBidsByUser(@Param("userId") Long userId, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE u.id = :userId AND b.status = 'WINNING' ORDER BY b.createdAt DESC",
+           countQuery = "SELECT COUNT(b) FROM Bid b WHERE b.bidder.id = :userId AND b.status = 'WINNING'")
+    Page<BidSummary> findWinningBidsByUser(@Param("userId") Long userId, Pageable pageable);
     
     // Find outbid bids for a user
-    @Query("SELECT b FROM Bid b WHERE b.user.id = :userId AND b.status = 'OUTBID' ORDER BY b.createdAt DESC")
+    @Query("SELECT b FROM Bid b WHERE b.bidder.id = :userId AND b.status = 'OUTBID' ORDER BY b.createdAt DESC")
     Page<Bid> findOutbidBidsByUser(@Param("userId") Long userId, Pageable pageable);
     
     // Count total bids by user
-    @Query("SELECT COUNT(b) FROM Bid b WHERE b.user.id = :userId")
+    @Query("SELECT COUNT(b) FROM Bid b WHERE b.bidder.id = :userId")
     Long countBidsByUser(@Param("userId") Long userId);
     
     // Count active bids by user
-    @Query("SELECT COUNT(b) FROM Bid b WHERE b.user.id = :userId AND b.status = 'ACTIVE'")
+    @Query("SELECT COUNT(b) FROM Bid b WHERE b.bidder.id = :userId AND b.status = 'ACTIVE'")
     Long countActiveBidsByUser(@Param("userId") Long userId);
     
     // Count winning bids by user
-    @Query("SELECT COUNT(b) FROM Bid b WHERE b.user.id = :userId AND b.status = 'WINNING'")
+    @Query("SELECT COUNT(b) FROM Bid b WHERE b.bidder.id = :userId AND b.status = 'WINNING'")
     Long countWinningBidsByUser(@Param("userId") Long userId);
     
     // Find bids above certain amount
@@ -68,17 +130,26 @@ public interface BidRepository extends JpaRepository<Bid, Long> {
     Optional<Bid> findSecondHighestBid(@Param("auctionId") Long auctionId, @Param("highestBid") BigDecimal highestBid);
     
     // Check if user has already bid on auction
-    @Query("SELECT COUNT(b) > 0 FROM Bid b WHERE b.auction.id = :auctionId AND b.user.id = :userId AND b.status != 'RETRACTED'")
+    @Query("SELECT COUNT(b) > 0 FROM Bid b WHERE b.auction.id = :auctionId AND b.bidder.id = :userId AND b.status != 'RETRACTED'")
     boolean hasUserBidOnAuction(@Param("auctionId") Long auctionId, @Param("userId") Long userId);
     
     // Find all bids by a user that are still active
-    @Query("SELECT b FROM Bid b WHERE b.user.id = :userId AND b.status = 'ACTIVE' AND b.auction.status = 'ACTIVE' ORDER BY b.createdAt DESC")
+    @Query("SELECT b FROM Bid b WHERE b.bidder.id = :userId AND b.status = 'ACTIVE' AND b.auction.status = 'ACTIVE' ORDER BY b.createdAt DESC")
     List<Bid> findActiveAuctionBidsByUser(@Param("userId") Long userId);
     
-    // Update bid status for ended auctions
-    @Query("UPDATE Bid b SET b.status = 'LOST' WHERE b.auction.endTime <= :now AND b.status = 'ACTIVE' AND b.id NOT IN " +
-           "(SELECT b2.id FROM Bid b2 WHERE b2.auction = b.auction AND b2.status = 'ACTIVE' ORDER BY b2.bidAmount DESC, b2.createdAt ASC LIMIT 1)")
-    int updateLostBidsForEndedAuctions(@Param("now") LocalDateTime now);
+    // Bidders holding settleable bids in the auctions being closed, as (auctionId, bidderId, bidId) rows
+    @Query("SELECT b.auction.id, b.bidder.id, b.id FROM Bid b WHERE b.auction.id IN :auctionIds AND b.status IN :statuses")
+    List<Object[]> findSettlementRows(@Param("auctionIds") Collection<Long> auctionIds,
+                                      @Param("statuses") Collection<BidStatus> statuses);
+    
+    // Mark winners WON and every other live bid LOST for a batch of closing auctions in one statement
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "bids"))
+    @Query(value = "UPDATE bids SET status = CASE WHEN id IN (:winningBidIds) THEN 'WON' ELSE 'LOST' END " +
+                   "WHERE auction_id IN (:auctionIds) AND status IN ('ACTIVE', 'WINNING', 'OUTBID')",
+           nativeQuery = true)
+    int settleBids(@Param("auctionIds") Collection<Long> auctionIds,
+                   @Param("winningBidIds") Collection<Long> winningBidIds);
     
     // Find potential winner bids for ended auctions
     @Query("SELECT b FROM Bid b WHERE b.auction.endTime <= :now AND b.auction.status = 'ACTIVE' AND b.status = 'ACTIVE' " +
@@ -86,12 +157,12 @@ public interface BidRepository extends JpaRepository<Bid, Long> {
     List<Bid> findPotentialWinnerBids(@Param("now") LocalDateTime now);
     
     // Statistics
-    @Query("SELECT SUM(b.bidAmount) FROM Bid b WHERE b.user.id = :userId AND b.status = 'WON'")
+    @Query("SELECT SUM(b.bidAmount) FROM Bid b WHERE b.bidder.id = :userId AND b.status = 'WON'")
     Optional<BigDecimal> getTotalWinningBidAmountByUser(@Param("userId") Long userId);
     
-    @Query("SELECT AVG(b.bidAmount) FROM Bid b WHERE b.user.id = :userId")
+    @Query("SELECT AVG(b.bidAmount) FROM Bid b WHERE b.bidder.id = :userId")
     Optional<BigDecimal> getAverageBidAmountByUser(@Param("userId") Long userId);
     
-    @Query("SELECT MAX(b.bidAmount) FROM Bid b WHERE b.user.id = :userId")
+    @Query("SELECT MAX(b.bidAmount) FROM Bid b WHERE b.bidder.id = :userId")
     Optional<BigDecimal> getMaxBidAmountByUser(@Param("userId") Long userId);
 }
@@ -0,0 +1,25 @@
+package com.smartbid.repositories;
+
+import com.smartbid.models.Bid.BidStatus;
+import com.smartbid.models.Bid.BidType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * BidSummary is the row view of a bid used by bid listings
+ * It carries the amount, state and who/where of a bid, leaving out the fraud-scoring and
+ * client fields, and is filled from the columns selected by BidRepository.SUMMARY_SELECT only.
+ */
+public interface BidSummary {
+
+    Long getId();
+    BigDecimal getBidAmount();
+    BidStatus getStatus();
+    BidType getType();
+    LocalDateTime getCreatedAt();
+    Long getAuctionId();
+    String getAuctionTitle();
+    Long getBidderId();
+    String getBidderUsername();
+}
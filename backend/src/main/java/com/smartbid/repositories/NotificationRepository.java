@@ -0,0 +1,17 @@
+package com.smartbid.repositories;
+
+import com.smartbid.models.Notification;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+    
+    // Find a user's notifications, newest first
+    Page<Notification> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
+    
+    // Count unread notifications for a user
+    long countByUserIdAndIsReadFalse(Long userId);
+}
@@ -51,7 +51,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     /**
      * Find verified users with credit score greater than or equal to specified amount
      */
-    List<User> findByVerifiedTrueAndCreditScoreGreaterThanEqual(BigDecimal creditScore);
+    List<User> findByIsVerifiedTrueAndCreditScoreGreaterThanEqual(BigDecimal creditScore);
 
     /**
      * Find users who haven't logged in since specified date
@@ -0,0 +1,60 @@
+package com.smartbid.services;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * AfterCommit defers in-memory side effects until the current transaction commits
+ * Outside a transaction the action runs straight away. Spring never runs a synchronization
+ * registered while the completion callbacks are already running, so an action deferred from
+ * inside another one runs straight away too instead of being silently lost.
+ */
+public final class AfterCommit {
+
+    private static final ThreadLocal<Boolean> RUNNING = ThreadLocal.withInitial(() -> false);
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Run the action once the current transaction commits, or now if there is none to wait for
+     */
+    public static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || RUNNING.get()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                RUNNING.set(true);
+                try {
+                    action.run();
+                } finally {
+                    RUNNING.set(false);
+                }
+            }
+        });
+    }
+
+    /**
+     * Run the action once the current transaction ends, whether it committed or rolled back
+     */
+    public static void runAfterCompletion(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || RUNNING.get()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                RUNNING.set(true);
+                try {
+                    action.run();
+                } finally {
+                    RUNNING.set(false);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,118 @@
+package com.smartbid.services;
+
+import com.smartbid.models.Auction;
+import com.smartbid.models.Auction.AuctionStatus;
+import com.smartbid.models.Auction.AuctionType;
+import com.smartbid.models.Auction.ConditionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * AuctionDetail is the cacheable snapshot behind GET /api/auctions/{id}
+ * It carries the auction's own columns and its seller, but none of the lazy associations,
+ * so it can be shared across requests and stored in Redis as JSON.
+ */
+public class AuctionDetail {
+
+    private Long id;
+    private String title;
+    private String description;
+    private BigDecimal startingPrice;
+    private BigDecimal currentPrice;
+    private BigDecimal reservePrice;
+    private BigDecimal buyNowPrice;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private AuctionStatus status;
+    private AuctionType type;
+    private String category;
+    private ConditionType conditionType;
+    private BigDecimal shippingCost;
+    private String shippingLocation;
+    private String imageUrls;
+    private String featuredImageUrl;
+    private String aiGeneratedTags;
+    private BigDecimal pricePrediction;
+    private BigDecimal qualityScore;
+    private Integer viewCount;
+    private Integer watchCount;
+    private Integer bidCount;
+    private Long winnerId;
+    private BigDecimal finalPrice;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long sellerId;
+    private String sellerUsername;
+
+    // For deserialization from the shared tier
+    private AuctionDetail() {
+    }
+
+    /**
+     * Snapshot an auction whose seller is loaded
+     */
+    public static AuctionDetail of(Auction auction) {
+        AuctionDetail detail = new AuctionDetail();
+        detail.id = auction.getId();
+        detail.title = auction.getTitle();
+        detail.description = auction.getDescription();
+        detail.startingPrice = auction.getStartingPrice();
+        detail.currentPrice = auction.getCurrentPrice();
+        detail.reservePrice = auction.getReservePrice();
+        detail.buyNowPrice = auction.getBuyNowPrice();
+        detail.startTime = auction.getStartTime();
+        detail.endTime = auction.getEndTime();
+        detail.status = auction.getStatus();
+        detail.type = auction.getType();
+        detail.category = auction.getCategory();
+        detail.conditionType = auction.getConditionType();
+        detail.shippingCost = auction.getShippingCost();
+        detail.shippingLocation = auction.getShippingLocation();
+        detail.imageUrls = auction.getImageUrls();
+        detail.featuredImageUrl = auction.getFeaturedImageUrl();
+        detail.aiGeneratedTags = auction.getAiGeneratedTags();
+        detail.pricePrediction = auction.getPricePrediction();
+        detail.qualityScore = auction.getQualityScore();
+        detail.viewCount = auction.getViewCount();
+        detail.watchCount = auction.getWatchCount();
+        detail.bidCount = auction.getBidCount();
+        detail.winnerId = auction.getWinnerId();
+        detail.finalPrice = auction.getFinalPrice();
+        detail.createdAt = auction.getCreatedAt();
+        detail.updatedAt = auction.getUpdatedAt();
+        detail.sellerId = auction.getUser().getId();
+        detail.sellerUsername = auction.getUser().getUsername();
+        return detail;
+    }
+
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getDescription() { return description; }
+    public BigDecimal getStartingPrice() { return startingPrice; }
+    public BigDecimal getCurrentPrice() { return currentPrice; }
+    public BigDecimal getReservePrice() { return reservePrice; }
+    public BigDecimal getBuyNowPrice() { return buyNowPrice; }
+    public LocalDateTime getStartTime() { return startTime; }
+    public LocalDateTime getEndTime() { return endTime; }
+    public AuctionStatus getStatus() { return status; }
+    public AuctionType getType() { return type; }
+    public String getCategory() { return category; }
+    public ConditionType getConditionType() { return conditionType; }
+    public BigDecimal getShippingCost() { return shippingCost; }
+    public String getShippingLocation() { return shippingLocation; }
+    public String getImageUrls() { return imageUrls; }
+    public String getFeaturedImageUrl() { return featuredImageUrl; }
+    public String getAiGeneratedTags() { return aiGeneratedTags; }
+    public BigDecimal getPricePrediction() { return pricePrediction; }
+    public BigDecimal getQualityScore() { return qualityScore; }
+    public Integer getViewCount() { return viewCount; }
+    public Integer getWatchCount() { return watchCount; }
+    public Integer getBidCount() { return bidCount; }
+    public Long getWinnerId() { return winnerId; }
+    public BigDecimal getFinalPrice() { return finalPrice; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public Long getSellerId() { return sellerId; }
+    public String getSellerUsername() { return sellerUsername; }
+}
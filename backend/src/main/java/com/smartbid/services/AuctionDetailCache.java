@@ -0,0 +1,253 @@
+package com.smartbid.services;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * AuctionDetailCache is a two-tier cache for auction detail reads
+ * Each node keeps a bounded local cache in front of a shared copy in Redis. A change to an
+ * auction evicts it locally at once and, after the transaction commits, bumps the auction's
+ * version in Redis and publishes its id so every node drops its local copy. Shared entries
+ * carry the version they were loaded under, so a copy read from the database before a
+ * concurrent change is never served once that change has been published. The local TTL
+ * bounds staleness if an invalidation message is lost.
+ */
+@Component
+public class AuctionDetailCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionDetailCache.class);
+
+    private static final String CHANNEL = "smartbid:auction-detail:invalidate";
+    private static final String VALUE_KEY_PREFIX = "smartbid:auction-detail:";
+    private static final String VERSION_KEY_PREFIX = "smartbid:auction-detail-version:";
+    private static final char VERSION_SEPARATOR = '|';
+    private static final int PUBLISH_BATCH_SIZE = 500;
+
+    @Value("${smartbid.auctions.detail-cache.local-max-size:10000}")
+    private long localMaxSize;
+
+    @Value("${smartbid.auctions.detail-cache.local-ttl-ms:30000}")
+    private long localTtlMs;
+
+    @Value("${smartbid.auctions.detail-cache.redis-enabled:true}")
+    private boolean redisEnabled;
+
+    @Value("${smartbid.auctions.detail-cache.redis-ttl-ms:300000}")
+    private long redisTtlMs;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private RedisConnectionFactory redisConnectionFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<Long, AuctionDetail> local;
+    private ObjectMapper mapper;
+    private RedisMessageListenerContainer listenerContainer;
+    private final BlockingQueue<Long> pendingInvalidations = new LinkedBlockingQueue<>();
+    private Thread publisher;
+    private volatile boolean running;
+    private Counter sharedHitCounter;
+    private Counter sharedMissCounter;
+    private Counter sharedErrorCounter;
+
+    @PostConstruct
+    public void start() {
+        local = Caffeine.newBuilder()
+            .maximumSize(localMaxSize)
+            .expireAfterWrite(Duration.ofMillis(localTtlMs))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, "auction-detail");
+
+        // Snapshots are plain fields with getters only
+        mapper = objectMapper.copy().setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+
+        sharedHitCounter = meterRegistry.counter("smartbid.auctions.detail-cache.shared", "result", "hit");
+        sharedMissCounter = meterRegistry.counter("smartbid.auctions.detail-cache.shared", "result", "miss");
+        sharedErrorCounter = meterRegistry.counter("smartbid.auctions.detail-cache.shared", "result", "error");
+
+        if (!redisEnabled) {
+            return;
+        }
+        listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(redisConnectionFactory);
+        listenerContainer.addMessageListener(this::onInvalidation, new ChannelTopic(CHANNEL));
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+
+        running = true;
+        publisher = new Thread(this::runPublisher, "auction-detail-invalidator");
+        publisher.setDaemon(true);
+        publisher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        if (!redisEnabled) {
+            return;
+        }
+        // Let the publisher send what is already queued
+        running = false;
+        publisher.join(TimeUnit.SECONDS.toMillis(5));
+        listenerContainer.destroy();
+    }
+
+    /**
+     * Get an auction's detail, loading it through the shared tier and then the database on a miss.
+     * Concurrent misses for the same auction on this node share one load.
+     */
+    public AuctionDetail get(Long auctionId, Function<Long, AuctionDetail> loader) {
+        return local.get(auctionId, id -> loadShared(id, loader));
+    }
+
+    /**
+     * Drop an auction that changed; other nodes are told once the current transaction commits
+     */
+    public void invalidate(Long auctionId) {
+        local.invalidate(auctionId);
+        AfterCommit.run(() -> {
+            // A read between the eviction above and the commit may have reloaded the old row
+            local.invalidate(auctionId);
+            if (redisEnabled) {
+                pendingInvalidations.offer(auctionId);
+            }
+        });
+    }
+
+    private AuctionDetail loadShared(Long auctionId, Function<Long, AuctionDetail> loader) {
+        if (!redisEnabled) {
+            return loader.apply(auctionId);
+        }
+
+        String version = "0";
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(
+                List.of(VALUE_KEY_PREFIX + auctionId, VERSION_KEY_PREFIX + auctionId));
+            if (values.get(1) != null) {
+                version = values.get(1);
+            }
+            String cached = values.get(0);
+            int separator = cached != null ? cached.indexOf(VERSION_SEPARATOR) : -1;
+            if (separator > 0 && cached.substring(0, separator).equals(version)) {
+                sharedHitCounter.increment();
+                return mapper.readValue(cached.substring(separator + 1), AuctionDetail.class);
+            }
+            sharedMissCounter.increment();
+        } catch (JsonProcessingException | RuntimeException e) {
+            sharedErrorCounter.increment();
+            logger.debug("Shared detail cache unavailable for auction {}, reading from the database", auctionId, e);
+            return loader.apply(auctionId);
+        }
+
+        AuctionDetail detail = loader.apply(auctionId);
+        if (detail != null) {
+            store(auctionId, version, detail);
+        }
+        return detail;
+    }
+
+    // Tag the entry with the version read before loading; a change in between makes it unusable
+    private void store(Long auctionId, String version, AuctionDetail detail) {
+        try {
+            String value = version + VERSION_SEPARATOR + mapper.writeValueAsString(detail);
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                redis.pSetEx(VALUE_KEY_PREFIX + auctionId, redisTtlMs, value);
+                // The version must outlive every entry written under it
+                redis.pExpire(VERSION_KEY_PREFIX + auctionId, redisTtlMs * 2);
+                return null;
+            });
+        } catch (JsonProcessingException | RuntimeException e) {
+            sharedErrorCounter.increment();
+            logger.debug("Could not store auction {} in the shared detail cache", auctionId, e);
+        }
+    }
+
+    private void runPublisher() {
+        List<Long> drained = new ArrayList<>(PUBLISH_BATCH_SIZE);
+        while (running || !pendingInvalidations.isEmpty()) {
+            try {
+                Long first = pendingInvalidations.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                drained.add(first);
+                pendingInvalidations.drainTo(drained, PUBLISH_BATCH_SIZE - 1);
+                publish(new LinkedHashSet<>(drained));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                sharedErrorCounter.increment();
+                logger.warn("Failed to publish invalidation for {} auctions", drained.size(), e);
+            } finally {
+                drained.clear();
+            }
+        }
+    }
+
+    // Bump versions, drop shared entries and notify every node in one round trip
+    private void publish(Set<Long> auctionIds) {
+        String message = auctionIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (Long auctionId : auctionIds) {
+                redis.incr(VERSION_KEY_PREFIX + auctionId);
+                redis.pExpire(VERSION_KEY_PREFIX + auctionId, redisTtlMs * 2);
+                redis.del(VALUE_KEY_PREFIX + auctionId);
+            }
+            redis.publish(CHANNEL, message);
+            return null;
+        });
+    }
+
+    private void onInvalidation(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            local.invalidateAll(Arrays.stream(body.split(",")).map(Long::valueOf).collect(Collectors.toList()));
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring malformed auction detail invalidation: {}", body);
+        }
+    }
+}
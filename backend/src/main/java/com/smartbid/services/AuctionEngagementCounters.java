@@ -0,0 +1,190 @@
+package com.smartbid.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * AuctionEngagementCounters absorbs view and watch count changes in memory
+ * Each auction gets a pair of LongAdders, so concurrent page views spread over striped cells
+ * instead of contending on the auction row. A flusher thread swaps in a fresh generation of
+ * counters every interval and writes the deltas in one JDBC batch. It flushes early once
+ * max-pending increments are buffered, which together with the interval bounds what a crash
+ * can lose. A swapped-out generation is drained once more on the following flush, to pick up
+ * increments from threads that fetched its counters just before the swap.
+ */
+@Component
+public class AuctionEngagementCounters {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionEngagementCounters.class);
+
+    private static final String FLUSH_SQL =
+        "UPDATE auctions SET view_count = COALESCE(view_count, 0) + ?, watch_count = COALESCE(watch_count, 0) + ? " +
+        "WHERE id = ?";
+
+    @Value("${smartbid.auctions.counters.flush-interval-ms:2000}")
+    private long flushIntervalMs;
+
+    @Value("${smartbid.auctions.counters.max-pending:10000}")
+    private long maxPending;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuctionDetailCache auctionDetailCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private volatile Map<Long, Deltas> current = new ConcurrentHashMap<>();
+    private Map<Long, Deltas> previous = Map.of(); // Flusher thread only
+    private final LongAdder pending = new LongAdder();
+    private Thread flusher;
+    private volatile boolean running;
+    private Counter flushedCounter;
+    private Counter failedCounter;
+    private Timer flushTimer;
+
+    @PostConstruct
+    public void start() {
+        Gauge.builder("smartbid.auctions.counters.pending", pending, LongAdder::sum)
+            .description("Counter increments buffered in memory and not yet written")
+            .register(meterRegistry);
+        flushedCounter = meterRegistry.counter("smartbid.auctions.counters.flushed");
+        failedCounter = meterRegistry.counter("smartbid.auctions.counters.failed");
+        flushTimer = meterRegistry.timer("smartbid.auctions.counters.flush");
+
+        running = true;
+        flusher = new Thread(this::runFlusher, "auction-counter-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // The flusher writes what is buffered before exiting
+        running = false;
+        LockSupport.unpark(flusher);
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Count a page view
+     */
+    public void recordView(Long auctionId) {
+        deltas(auctionId).views.increment();
+        added();
+    }
+
+    /**
+     * Add or remove watchers, once the current transaction commits
+     */
+    public void adjustWatchers(Long auctionId, int delta) {
+        AfterCommit.run(() -> {
+            deltas(auctionId).watches.add(delta);
+            added();
+        });
+    }
+
+    private Deltas deltas(Long auctionId) {
+        return current.computeIfAbsent(auctionId, id -> new Deltas());
+    }
+
+    // Wake the flusher early when the buffer reaches its bound; the sum is only taken on a sample of calls
+    private void added() {
+        pending.increment();
+        if ((ThreadLocalRandom.current().nextInt() & 0xFF) == 0 && pending.sum() >= maxPending) {
+            LockSupport.unpark(flusher);
+        }
+    }
+
+    private void runFlusher() {
+        while (running) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushIntervalMs));
+            flush();
+        }
+        // Drain both generations on shutdown
+        flush();
+        flush();
+    }
+
+    private void flush() {
+        Map<Long, Deltas> swapped = current;
+        current = new ConcurrentHashMap<>();
+        pending.reset();
+
+        Map<Long, long[]> totals = new HashMap<>();
+        collect(previous, totals);
+        collect(swapped, totals);
+        previous = swapped;
+        if (totals.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> rows = new ArrayList<>(totals.size());
+        List<Long> watchChanged = new ArrayList<>();
+        totals.forEach((auctionId, delta) -> {
+            rows.add(new Object[] { delta[0], delta[1], auctionId });
+            if (delta[1] != 0) {
+                watchChanged.add(auctionId);
+            }
+        });
+
+        try {
+            flushTimer.record(() -> jdbcTemplate.batchUpdate(FLUSH_SQL, rows));
+            flushedCounter.increment(rows.size());
+        } catch (RuntimeException e) {
+            // Keep the deltas for the next attempt rather than dropping them
+            failedCounter.increment(rows.size());
+            logger.warn("Failed to flush counters for {} auctions, retrying next interval", rows.size(), e);
+            totals.forEach((auctionId, delta) -> {
+                Deltas deltas = deltas(auctionId);
+                deltas.views.add(delta[0]);
+                deltas.watches.add(delta[1]);
+            });
+            return;
+        }
+
+        // Watch counts change rarely, so drop those auctions from the detail cache; view counts may lag by its TTL
+        for (Long auctionId : watchChanged) {
+            auctionDetailCache.invalidate(auctionId);
+        }
+    }
+
+    private static void collect(Map<Long, Deltas> generation, Map<Long, long[]> totals) {
+        generation.forEach((auctionId, deltas) -> {
+            long views = deltas.views.sumThenReset();
+            long watches = deltas.watches.sumThenReset();
+            if (views != 0 || watches != 0) {
+                long[] total = totals.computeIfAbsent(auctionId, id -> new long[2]);
+                total[0] += views;
+                total[1] += watches;
+            }
+        });
+    }
+
+    private static final class Deltas {
+        private final LongAdder views = new LongAdder();
+        private final LongAdder watches = new LongAdder();
+    }
+}
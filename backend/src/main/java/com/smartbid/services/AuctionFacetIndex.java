@@ -0,0 +1,406 @@
+package com.smartbid.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smartbid.models.Auction;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * AuctionFacetIndex keeps one compressed bitmap of auction ids per facet value
+ * (category, condition, status, type, location and price bucket). Filtering is a bitmap
+ * intersection, and facet counts are intersection cardinalities computed with every other
+ * selected filter applied, so the browse page gets results and counts without a query.
+ * Counts are cached per set of selected filters and dropped whenever a write changes facet
+ * membership (or, for price ranges, any price), and only the max-values largest values of a
+ * facet are listed. Auction ids are used directly as bitmap positions.
+ */
+@Component
+public class AuctionFacetIndex {
+
+    public static final String CATEGORY = "category";
+    public static final String CONDITION = "condition";
+    public static final String STATUS = "status";
+    public static final String TYPE = "type";
+    public static final String LOCATION = "location";
+    public static final String PRICE = "price";
+
+    private static final List<String> FACETS = List.of(CATEGORY, CONDITION, STATUS, TYPE, LOCATION, PRICE);
+
+    // Lower bounds of the price buckets; the last bucket is open-ended
+    private static final BigDecimal[] PRICE_BOUNDS = {
+        BigDecimal.ZERO, new BigDecimal("10"), new BigDecimal("25"), new BigDecimal("50"), new BigDecimal("100"),
+        new BigDecimal("250"), new BigDecimal("500"), new BigDecimal("1000"), new BigDecimal("2500"),
+        new BigDecimal("5000"), new BigDecimal("10000")
+    };
+
+    private static final List<String> PRICE_LABELS = IntStream.range(0, PRICE_BOUNDS.length)
+        .mapToObj(AuctionFacetIndex::bucketLabel)
+        .toList();
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionFacetIndex.class);
+
+    @Value("${smartbid.auctions.facets.max-values:20}")
+    private int maxValues;
+
+    @Value("${smartbid.auctions.facets.count-cache-size:1000}")
+    private long countCacheSize;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private final Map<String, Map<String, RoaringBitmap>> bitmaps = new LinkedHashMap<>();
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final RoaringBitmap all = new RoaringBitmap();
+    private long generation; // Bumped when an auction enters, leaves or changes a facet value
+    private long priceGeneration; // Bumped on every price change, which only price ranges see
+
+    // Keyed by the generations as well as the filters, so counts from before a write are never served
+    private Cache<String, Map<String, Map<String, Integer>>> countCache;
+
+    public AuctionFacetIndex() {
+        FACETS.forEach(facet -> bitmaps.put(facet, new HashMap<>()));
+    }
+
+    @PostConstruct
+    public void start() {
+        countCache = Caffeine.newBuilder()
+            .maximumSize(countCacheSize)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, countCache, "auction-facet-counts");
+    }
+
+    // Build the bitmaps from the auctions table in one pass
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        jdbcTemplate.query(
+            "SELECT id, category, condition_type, status, type, shipping_location, " +
+            "COALESCE(current_price, starting_price) FROM auctions",
+            rs -> {
+                put(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                    rs.getString(5), rs.getString(6), rs.getBigDecimal(7));
+            });
+        logger.info("Facet index built with {} auctions", all.getCardinality());
+    }
+
+    /**
+     * Add or re-file an auction under its current facet values
+     */
+    public void index(Auction auction) {
+        BigDecimal price = auction.getCurrentPrice() != null ? auction.getCurrentPrice() : auction.getStartingPrice();
+        put(auction.getId(), auction.getCategory(), name(auction.getConditionType()), name(auction.getStatus()),
+            name(auction.getType()), auction.getShippingLocation(), price);
+    }
+
+    /**
+     * Move an auction to the bucket of its new price
+     */
+    public void updatePrice(Long auctionId, BigDecimal price) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.get(toDoc(auctionId));
+            if (entry != null) {
+                entry.price = price;
+                priceGeneration++;
+                move(toDoc(auctionId), entry, PRICE, priceBucket(price));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Move an auction to its new status
+     */
+    public void updateStatus(Long auctionId, Auction.AuctionStatus status) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.get(toDoc(auctionId));
+            if (entry != null) {
+                move(toDoc(auctionId), entry, STATUS, name(status));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long auctionId) {
+        lock.writeLock().lock();
+        try {
+            int doc = toDoc(auctionId);
+            Entry entry = entries.remove(doc);
+            if (entry != null) {
+                FACETS.forEach(facet -> move(doc, entry, facet, null));
+                all.remove(doc);
+                generation++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Filter by the selected facet values and price range, newest auctions first
+     * The page starts below beforeAuctionId when given (a cursor), otherwise after skipping offset matches.
+     */
+    public BrowseResult browse(Map<String, String> selected, BigDecimal minPrice, BigDecimal maxPrice,
+                               Long beforeAuctionId, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            Map<String, RoaringBitmap> constraints = new LinkedHashMap<>();
+            selected.forEach((facet, value) -> {
+                if (value != null && bitmaps.containsKey(facet)) {
+                    RoaringBitmap matching = bitmaps.get(facet).get(normalize(facet, value));
+                    constraints.put(facet, matching != null ? matching : new RoaringBitmap());
+                }
+            });
+            if (minPrice != null || maxPrice != null) {
+                constraints.put(PRICE, priceRange(minPrice, maxPrice));
+            }
+
+            RoaringBitmap matches = intersect(constraints, null);
+            Map<String, Map<String, Integer>> counts = countCache.get(
+                countKey(selected, minPrice, maxPrice), key -> count(constraints, matches));
+
+            // Cut everything above the page start so neither a cursor nor an offset is walked
+            long totalHits = matches.getLongCardinality();
+            RoaringBitmap remaining = matches;
+            if (beforeAuctionId != null) {
+                remaining.remove(Math.max(0L, Math.min(beforeAuctionId, 1L << 32)), 1L << 32);
+            } else if (offset >= totalHits) {
+                remaining = new RoaringBitmap();
+            } else if (offset > 0) {
+                remaining.remove(Integer.toUnsignedLong(remaining.select((int) (totalHits - offset))), 1L << 32);
+            }
+
+            long[] page = new long[(int) Math.min(limit, remaining.getLongCardinality())];
+            IntIterator newestFirst = remaining.getReverseIntIterator();
+            for (int i = 0; i < page.length; i++) {
+                page[i] = newestFirst.next();
+            }
+            return new BrowseResult(page, totalHits, remaining.getLongCardinality() > page.length, counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Each facet is counted with every constraint except its own, so other values stay selectable
+    private Map<String, Map<String, Integer>> count(Map<String, RoaringBitmap> constraints, RoaringBitmap matches) {
+        Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+        for (String facet : FACETS) {
+            RoaringBitmap base = constraints.containsKey(facet) ? intersect(constraints, facet) : matches;
+            Map<String, RoaringBitmap> values = bitmaps.get(facet);
+            Map<String, Integer> valueCounts = new LinkedHashMap<>();
+            if (PRICE.equals(facet)) {
+                // Price buckets are few and listed low to high
+                for (String value : PRICE_LABELS) {
+                    RoaringBitmap bitmap = values.get(value);
+                    int count = bitmap != null ? RoaringBitmap.andCardinality(base, bitmap) : 0;
+                    if (count > 0) {
+                        valueCounts.put(value, count);
+                    }
+                }
+            } else {
+                // Other facets list their largest values first, up to max-values
+                List<Map.Entry<String, Integer>> nonEmpty = new ArrayList<>();
+                values.forEach((value, bitmap) -> {
+                    int count = RoaringBitmap.andCardinality(base, bitmap);
+                    if (count > 0) {
+                        nonEmpty.add(Map.entry(value, count));
+                    }
+                });
+                nonEmpty.sort(Map.Entry.<String, Integer>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.comparingByKey()));
+                nonEmpty.stream().limit(maxValues).forEach(e -> valueCounts.put(e.getKey(), e.getValue()));
+            }
+            counts.put(facet, Collections.unmodifiableMap(valueCounts));
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
+    // Normalized filters in facet order, prefixed by the generations the counts depend on
+    private String countKey(Map<String, String> selected, BigDecimal minPrice, BigDecimal maxPrice) {
+        StringBuilder key = new StringBuilder().append(generation);
+        if (minPrice != null || maxPrice != null) {
+            key.append('/').append(priceGeneration)
+                .append('|').append(minPrice != null ? minPrice.stripTrailingZeros().toPlainString() : "")
+                .append('|').append(maxPrice != null ? maxPrice.stripTrailingZeros().toPlainString() : "");
+        }
+        for (String facet : FACETS) {
+            String value = selected.get(facet);
+            if (value != null) {
+                key.append('|').append(facet).append('=').append(normalize(facet, value));
+            }
+        }
+        return key.toString();
+    }
+
+    private void put(Long auctionId, String category, String condition, String status,
+                     String type, String location, BigDecimal price) {
+        lock.writeLock().lock();
+        try {
+            int doc = toDoc(auctionId);
+            Entry entry = entries.computeIfAbsent(doc, d -> new Entry());
+            entry.price = price;
+            priceGeneration++;
+            move(doc, entry, CATEGORY, normalize(CATEGORY, category));
+            move(doc, entry, CONDITION, condition);
+            move(doc, entry, STATUS, status);
+            move(doc, entry, TYPE, type);
+            move(doc, entry, LOCATION, normalize(LOCATION, location));
+            move(doc, entry, PRICE, priceBucket(price));
+            all.add(doc);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Take the document out of its old value's bitmap and into the new one's
+    private void move(int doc, Entry entry, String facet, String value) {
+        Map<String, RoaringBitmap> values = bitmaps.get(facet);
+        String previous = entry.values.put(facet, value);
+        if (!Objects.equals(previous, value)) {
+            generation++;
+        }
+        if (previous != null && !previous.equals(value)) {
+            RoaringBitmap old = values.get(previous);
+            old.remove(doc);
+            if (old.isEmpty()) {
+                values.remove(previous);
+            }
+        }
+        if (value != null) {
+            values.computeIfAbsent(value, v -> new RoaringBitmap()).add(doc);
+        }
+    }
+
+    private RoaringBitmap intersect(Map<String, RoaringBitmap> constraints, String excludedFacet) {
+        RoaringBitmap result = all.clone();
+        constraints.forEach((facet, bitmap) -> {
+            if (!facet.equals(excludedFacet)) {
+                result.and(bitmap);
+            }
+        });
+        return result;
+    }
+
+    // Whole buckets inside the range are OR-ed in; only the boundary buckets are checked price by price
+    private RoaringBitmap priceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        RoaringBitmap result = new RoaringBitmap();
+        for (int i = 0; i < PRICE_BOUNDS.length; i++) {
+            BigDecimal low = PRICE_BOUNDS[i];
+            BigDecimal high = i + 1 < PRICE_BOUNDS.length ? PRICE_BOUNDS[i + 1] : null;
+            RoaringBitmap bucket = bitmaps.get(PRICE).get(PRICE_LABELS.get(i));
+            if (bucket == null
+                || (maxPrice != null && low.compareTo(maxPrice) > 0)
+                || (minPrice != null && high != null && high.compareTo(minPrice) <= 0)) {
+                continue;
+            }
+            boolean inside = (minPrice == null || low.compareTo(minPrice) >= 0)
+                && (maxPrice == null || (high != null && high.compareTo(maxPrice) <= 0));
+            if (inside) {
+                result.or(bucket);
+                continue;
+            }
+            bucket.forEach((int doc) -> {
+                BigDecimal price = entries.get(doc).price;
+                if ((minPrice == null || price.compareTo(minPrice) >= 0)
+                    && (maxPrice == null || price.compareTo(maxPrice) <= 0)) {
+                    result.add(doc);
+                }
+            });
+        }
+        return result;
+    }
+
+    private static String priceBucket(BigDecimal price) {
+        if (price == null) {
+            return null;
+        }
+        for (int i = PRICE_BOUNDS.length - 1; i >= 0; i--) {
+            if (price.compareTo(PRICE_BOUNDS[i]) >= 0) {
+                return PRICE_LABELS.get(i);
+            }
+        }
+        return PRICE_LABELS.get(0);
+    }
+
+    private static String bucketLabel(int i) {
+        return i + 1 < PRICE_BOUNDS.length
+            ? PRICE_BOUNDS[i].toPlainString() + "-" + PRICE_BOUNDS[i + 1].toPlainString()
+            : PRICE_BOUNDS[i].toPlainString() + "+";
+    }
+
+    // Free-text facets match case-insensitively; enum facets use the constant name
+    private static String normalize(String facet, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return CATEGORY.equals(facet) || LOCATION.equals(facet)
+            ? value.trim().toLowerCase(Locale.ROOT)
+            : value.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static String name(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+
+    private static int toDoc(Long auctionId) {
+        return Math.toIntExact(auctionId);
+    }
+
+    private static final class Entry {
+        private final Map<String, String> values = new HashMap<>();
+        private BigDecimal price;
+    }
+
+    public static final class BrowseResult {
+        private final long[] auctionIds;
+        private final long totalHits;
+        private final boolean hasMore;
+        private final Map<String, Map<String, Integer>> facets;
+
+        public BrowseResult(long[] auctionIds, long totalHits, boolean hasMore, Map<String, Map<String, Integer>> facets) {
+            this.auctionIds = auctionIds;
+            this.totalHits = totalHits;
+            this.hasMore = hasMore;
+            this.facets = facets;
+        }
+
+        public long[] getAuctionIds() { return auctionIds; }
+        public long getTotalHits() { return totalHits; }
+        public boolean isHasMore() { return hasMore; }
+        public Map<String, Map<String, Integer>> getFacets() { return facets; }
+    }
+}
@@ -0,0 +1,213 @@
+package com.smartbid.services;
+
+import com.smartbid.models.Auction;
+import com.smartbid.models.Auction.AuctionStatus;
+import com.smartbid.repositories.AuctionRepository;
+import com.smartbid.services.HierarchicalTimingWheel.Timeout;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * AuctionLifecycleScheduler fires UPCOMING -> ACTIVE and ACTIVE -> ENDED at the deadline
+ * Every open auction holds one timeout in a hierarchical timing wheel. Starts run on the
+ * auction's bid lane, closes go to the settlement pool, and a periodic sweep catches
+ * anything the wheel missed (restarts, other nodes, clock jumps).
+ */
+@Component
+public class AuctionLifecycleScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionLifecycleScheduler.class);
+
+    @Value("${smartbid.auctions.lifecycle.tick-ms:1}")
+    private long tickMs;
+
+    @Value("${smartbid.auctions.lifecycle.wheel-size:512}")
+    private int wheelSize;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    @Lazy
+    private AuctionService auctionService;
+
+    @Autowired
+    private BidSequencer bidSequencer;
+
+    @Autowired
+    private AuctionSettlementPool settlementPool;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EndingSoonScheduler endingSoonScheduler;
+
+    private final Map<Long, Timeout> timeouts = new ConcurrentHashMap<>();
+    private volatile HierarchicalTimingWheel wheel;
+    private volatile boolean running;
+    private Thread ticker;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        wheel = new HierarchicalTimingWheel(tickMs, wheelSize, Runnable::run);
+        running = true;
+        ticker = new Thread(this::runTicker, "auction-lifecycle-timer");
+        ticker.setDaemon(true);
+        ticker.start();
+
+        List<Auction> open = auctionRepository.findByStatusIn(List.of(AuctionStatus.UPCOMING, AuctionStatus.ACTIVE));
+        open.forEach(this::track);
+        logger.info("Auction lifecycle scheduler tracking {} auctions", open.size());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (ticker != null) {
+            ticker.interrupt();
+            ticker.join(1000);
+        }
+    }
+
+    /**
+     * (Re)schedule the next transition for an auction once the current transaction commits;
+     * call after create, update and manual start
+     */
+    public void track(Auction auction) {
+        if (wheel == null || auction.getId() == null) {
+            return;
+        }
+        AfterCommit.run(() -> schedule(auction));
+    }
+
+    private void schedule(Auction auction) {
+        Long auctionId = auction.getId();
+        LocalDateTime deadline;
+        Consumer<Long> transition;
+        if (auction.getStatus() == AuctionStatus.UPCOMING && auction.getStartTime() != null) {
+            deadline = auction.getStartTime();
+            transition = this::dispatchStart;
+        } else if (auction.getStatus() == AuctionStatus.ACTIVE && auction.getEndTime() != null) {
+            deadline = auction.getEndTime();
+            transition = this::dispatchEnd;
+        } else {
+            untrack(auctionId);
+            return;
+        }
+        if (auction.getEndTime() != null) {
+            endingSoonScheduler.schedule(auctionId, auction.getEndTime());
+        }
+
+        long deadlineMs = toEpochMs(deadline);
+        if (deadlineMs <= System.currentTimeMillis()) {
+            // Already due: dispatch straight away instead of leaving an entry for a timeout that has fired
+            Timeout previous = timeouts.remove(auctionId);
+            if (previous != null) {
+                previous.cancel();
+            }
+            transition.accept(auctionId);
+            return;
+        }
+
+        Timeout next = wheel.schedule(deadlineMs, () -> transition.accept(auctionId));
+        Timeout previous = timeouts.put(auctionId, next);
+        if (previous != null) {
+            previous.cancel();
+        }
+        // The wheel may have fired it before it was recorded
+        if (next.isExpired()) {
+            timeouts.remove(auctionId, next);
+        }
+    }
+
+    /**
+     * Drop any pending transition; call when an auction is cancelled, deleted or ended manually
+     */
+    public void untrack(Long auctionId) {
+        Timeout previous = timeouts.remove(auctionId);
+        if (previous != null) {
+            previous.cancel();
+        }
+        endingSoonScheduler.cancel(auctionId);
+    }
+
+    public int getTrackedCount() {
+        return timeouts.size();
+    }
+
+    // Safety net for transitions the wheel could not see
+    @Scheduled(fixedDelayString = "${smartbid.auctions.lifecycle.sweep-interval-ms:60000}")
+    public void sweepOverdue() {
+        if (wheel == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (Long auctionId : auctionRepository.findIdsByStatusAndStartTimeBefore(AuctionStatus.UPCOMING, now)) {
+            dispatchStart(auctionId);
+        }
+        settlementPool.enqueueAll(auctionRepository.findIdsByStatusAndEndTimeBefore(AuctionStatus.ACTIVE, now));
+    }
+
+    private void runTicker() {
+        while (running) {
+            try {
+                wheel.advance(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Auction lifecycle timer failed", e);
+            }
+        }
+    }
+
+    private void dispatchStart(Long auctionId) {
+        forgetExpired(auctionId);
+        bidSequencer.submit(auctionId,
+                () -> transactionTemplate.execute(status -> auctionService.activateIfDue(auctionId, LocalDateTime.now())))
+            .whenComplete((activated, e) -> {
+                if (e != null) {
+                    logger.error("Failed to start auction {}", auctionId, e);
+                } else {
+                    activated.ifPresent(this::track);
+                }
+            });
+    }
+
+    // Closing auctions are batched across the settlement workers
+    private void dispatchEnd(Long auctionId) {
+        forgetExpired(auctionId);
+        settlementPool.enqueue(auctionId);
+    }
+
+    // Drop the entry only if it is the timeout that fired, a newer one may already replace it
+    private void forgetExpired(Long auctionId) {
+        timeouts.computeIfPresent(auctionId, (id, timeout) -> timeout.isExpired() ? null : timeout);
+    }
+
+    // Round up to a tick boundary so the wheel never fires before the deadline
+    private long toEpochMs(LocalDateTime time) {
+        long epochMs = time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (time.getNano() % 1_000_000 != 0) {
+            epochMs++;
+        }
+        return Math.floorDiv(epochMs + tickMs - 1, tickMs) * tickMs;
+    }
+}
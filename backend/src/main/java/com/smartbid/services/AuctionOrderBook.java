@@ -0,0 +1,203 @@
+package com.smartbid.services;
+
+import com.smartbid.models.Auction;
+import com.smartbid.models.Bid;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * In-memory order book for a single auction
+ * Keeps the best bid, second-best bid, proxy ceilings and bid count, plus a snapshot
+ * of the auction itself, so the bid hot path never has to read the auctions or bids tables
+ */
+public class AuctionOrderBook {
+
+    // Highest ceiling first, earliest proxy wins ties
+    private static final Comparator<BidEntry> BY_CEILING_DESC =
+        Comparator.comparing(BidEntry::getCeiling).reversed()
+                  .thenComparing(BidEntry::getPlacedAt);
+
+    private final Long auctionId;
+    private final BigDecimal startingPrice;
+    private volatile Auction auction; // Detached snapshot the hot path validates against
+    private BigDecimal currentPrice;
+    private int bidCount;
+    private BidEntry best;
+    private BidEntry secondBest;
+    private final PriorityQueue<BidEntry> proxyCeilings = new PriorityQueue<>(BY_CEILING_DESC);
+
+    public AuctionOrderBook(Auction auction, BigDecimal currentPrice, int bidCount) {
+        this.auctionId = auction.getId();
+        this.startingPrice = auction.getStartingPrice();
+        this.auction = auction;
+        this.currentPrice = currentPrice;
+        this.bidCount = bidCount;
+    }
+
+    /**
+     * Seed the book with an existing bid while loading from the database
+     */
+    synchronized void restore(BidEntry entry) {
+        if (best == null || entry.getAmount().compareTo(best.getAmount()) > 0) {
+            secondBest = best;
+            best = entry;
+        } else if (secondBest == null || entry.getAmount().compareTo(secondBest.getAmount()) > 0) {
+            secondBest = entry;
+        }
+    }
+
+    /**
+     * Register a live proxy ceiling while loading from the database
+     */
+    synchronized void restoreProxy(BidEntry entry) {
+        proxyCeilings.add(entry);
+    }
+
+    /**
+     * Accept a new highest bid and return the bids it displaced
+     * Displaced bids are the previous best of another bidder plus any proxies that can
+     * no longer reach the new price
+     */
+    public synchronized List<BidEntry> accept(BidEntry entry) {
+        List<BidEntry> displaced = new ArrayList<>();
+        if (best != null && !best.getUserId().equals(entry.getUserId())) {
+            displaced.add(best);
+            secondBest = best;
+        }
+
+        // Drain exhausted proxies, highest ceiling first
+        while (!proxyCeilings.isEmpty()
+               && !proxyCeilings.peek().getUserId().equals(entry.getUserId())
+               && proxyCeilings.peek().getCeiling().compareTo(entry.getAmount()) < 0) {
+            BidEntry exhausted = proxyCeilings.poll();
+            if (displaced.stream().noneMatch(d -> d.getBidId().equals(exhausted.getBidId()))) {
+                displaced.add(exhausted);
+            }
+        }
+
+        best = entry;
+        currentPrice = entry.getAmount();
+        bidCount++;
+        if (entry.isProxy()) {
+            proxyCeilings.add(entry);
+        }
+        return displaced;
+    }
+
+    /**
+     * Record a challenger that lost straight away to a standing proxy, which climbs to the new price
+     */
+    public synchronized void defend(BidEntry challenger, BidEntry raisedDefender) {
+        replaceProxy(raisedDefender);
+        best = raisedDefender;
+        secondBest = challenger;
+        currentPrice = raisedDefender.getAmount();
+        bidCount++;
+    }
+
+    /**
+     * Raise the ceiling of the leading proxy without moving the price
+     */
+    public synchronized void raiseCeiling(BidEntry raisedProxy) {
+        replaceProxy(raisedProxy);
+        best = raisedProxy;
+    }
+
+    /**
+     * Withdraw a bid; a retracted leader hands the lead and the price to the runner-up,
+     * or the price falls back to the starting price when there is none
+     * Returns the new leader when the lead changed hands
+     */
+    public synchronized Optional<BidEntry> retract(Long bidId) {
+        proxyCeilings.removeIf(proxy -> proxy.getBidId().equals(bidId));
+        if (secondBest != null && secondBest.getBidId().equals(bidId)) {
+            secondBest = null;
+        }
+        if (best == null || !best.getBidId().equals(bidId)) {
+            return Optional.empty();
+        }
+        best = secondBest;
+        secondBest = null;
+        currentPrice = best != null ? best.getAmount() : startingPrice;
+        return Optional.ofNullable(best);
+    }
+
+    // The proxy being replaced is normally the heap top, so this stays O(log n)
+    private void replaceProxy(BidEntry replacement) {
+        BidEntry top = proxyCeilings.peek();
+        if (top != null && top.getBidId().equals(replacement.getBidId())) {
+            proxyCeilings.poll();
+        } else {
+            proxyCeilings.removeIf(proxy -> proxy.getBidId().equals(replacement.getBidId()));
+        }
+        proxyCeilings.add(replacement);
+    }
+
+    /**
+     * Swap in a newer snapshot of the auction after its status or schedule changed
+     */
+    public void refreshAuction(Auction updated) {
+        this.auction = updated;
+    }
+
+    public synchronized BigDecimal getMinimumNextBid() {
+        return Auction.calculateMinimumNextBid(currentPrice, startingPrice);
+    }
+
+    public synchronized Optional<BidEntry> getBest() { return Optional.ofNullable(best); }
+    public synchronized Optional<BidEntry> getSecondBest() { return Optional.ofNullable(secondBest); }
+    public synchronized Optional<BidEntry> getTopProxy() { return Optional.ofNullable(proxyCeilings.peek()); }
+    public synchronized BigDecimal getCurrentPrice() { return currentPrice; }
+    public synchronized int getBidCount() { return bidCount; }
+    public Long getAuctionId() { return auctionId; }
+    public Auction getAuction() { return auction; }
+
+    /**
+     * Immutable snapshot of a bid held by the order book
+     */
+    public static final class BidEntry {
+        private final Long bidId;
+        private final Long userId;
+        private final BigDecimal amount;
+        private final BigDecimal maxAmount; // Proxy ceiling, null for manual bids
+        private final LocalDateTime placedAt;
+
+        public BidEntry(Long bidId, Long userId, BigDecimal amount, BigDecimal maxAmount, LocalDateTime placedAt) {
+            this.bidId = bidId;
+            this.userId = userId;
+            this.amount = amount;
+            this.maxAmount = maxAmount;
+            this.placedAt = placedAt != null ? placedAt : LocalDateTime.now();
+        }
+
+        public static BidEntry of(Bid bid) {
+            BigDecimal ceiling = bid.getType() == Bid.BidType.PROXY ? bid.getMaxBidAmount() : null;
+            return new BidEntry(bid.getId(), bid.getBidder().getId(), bid.getBidAmount(), ceiling, bid.getCreatedAt());
+        }
+
+        public BidEntry withAmount(BigDecimal newAmount) {
+            return new BidEntry(bidId, userId, newAmount, maxAmount, placedAt);
+        }
+
+        public BidEntry withCeiling(BigDecimal newCeiling) {
+            return new BidEntry(bidId, userId, amount, newCeiling, placedAt);
+        }
+
+        public boolean isProxy() { return maxAmount != null; }
+
+        // Highest amount this bid is willing to reach
+        public BigDecimal getCeiling() { return maxAmount != null ? maxAmount : amount; }
+
+        public Long getBidId() { return bidId; }
+        public Long getUserId() { return userId; }
+        public BigDecimal getAmount() { return amount; }
+        public BigDecimal getMaxAmount() { return maxAmount; }
+        public LocalDateTime getPlacedAt() { return placedAt; }
+    }
+}
@@ -0,0 +1,57 @@
+package com.smartbid.services;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * AuctionPriceChangedEvent is the payload pushed to /topic/auctions/{auctionId}
+ * It is captured from the order book when a bid is accepted, so subscribers get the
+ * price the bid was accepted at without going back to the database.
+ */
+public class AuctionPriceChangedEvent {
+
+    private final Long auctionId;
+    private final BigDecimal currentPrice;
+    private final BigDecimal minimumNextBid;
+    private final int bidCount;
+    private final Long leadingBidderId;
+    private final LocalDateTime endTime;
+    private final LocalDateTime timestamp;
+
+    public AuctionPriceChangedEvent(Long auctionId, BigDecimal currentPrice, BigDecimal minimumNextBid,
+                                    int bidCount, Long leadingBidderId, LocalDateTime endTime) {
+        this.auctionId = auctionId;
+        this.currentPrice = currentPrice;
+        this.minimumNextBid = minimumNextBid;
+        this.bidCount = bidCount;
+        this.leadingBidderId = leadingBidderId;
+        this.endTime = endTime;
+        this.timestamp = LocalDateTime.now();
+    }
+
+    // Snapshot the book right after it accepted a bid
+    public static AuctionPriceChangedEvent of(AuctionOrderBook orderBook, LocalDateTime endTime) {
+        synchronized (orderBook) {
+            Long leader = orderBook.getBest().map(AuctionOrderBook.BidEntry::getUserId).orElse(null);
+            return new AuctionPriceChangedEvent(orderBook.getAuctionId(), orderBook.getCurrentPrice(),
+                orderBook.getMinimumNextBid(), orderBook.getBidCount(), leader, endTime);
+        }
+    }
+
+    public Long getAuctionId() { return auctionId; }
+    public BigDecimal getCurrentPrice() { return currentPrice; }
+    public BigDecimal getMinimumNextBid() { return minimumNextBid; }
+    public int getBidCount() { return bidCount; }
+    public Long getLeadingBidderId() { return leadingBidderId; }
+    public LocalDateTime getEndTime() { return endTime; }
+    public LocalDateTime getTimestamp() { return timestamp; }
+
+    // Seconds left when the update was taken; clients count down from endTime between updates
+    public long getSecondsRemaining() {
+        if (endTime == null) {
+            return 0;
+        }
+        return Math.max(0, Duration.between(timestamp, endTime).getSeconds());
+    }
+}
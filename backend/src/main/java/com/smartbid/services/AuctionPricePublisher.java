@@ -0,0 +1,389 @@
+package com.smartbid.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AuctionPricePublisher fans accepted-bid updates out to /topic/auctions/{auctionId} subscribers
+ * Updates bypass the broker and are written per session, with at most max-in-flight messages
+ * outstanding on each connection. A message stays in flight until it has been written to the
+ * socket itself, not just into Spring's per-session send buffer. A connection that falls behind
+ * only keeps the latest update per auction, and one that stays behind past the slow-consumer
+ * timeout is disconnected, so a few slow browsers never hold up everyone else watching a hot auction.
+ */
+@Component
+public class AuctionPricePublisher {
+
+    public static final String TOPIC_PREFIX = "/topic/auctions/";
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionPricePublisher.class);
+
+    // Carries the auction id of messages written by this publisher
+    private static final String FANOUT_HEADER = "smartbidFanout";
+
+    // STOMP header on fan-out frames, recognised when the frame reaches the socket
+    private static final String FANOUT_FRAME_HEADER = "smartbid-fanout";
+    private static final String FANOUT_FRAME_MARKER = "\n" + FANOUT_FRAME_HEADER + ":";
+
+    @Value("${smartbid.websocket.fanout.max-in-flight:8}")
+    private int maxInFlight;
+
+    @Value("${smartbid.websocket.fanout.slow-consumer-timeout-ms:10000}")
+    private long slowConsumerTimeoutMs;
+
+    @Autowired
+    @Qualifier("clientOutboundChannel")
+    private AbstractSubscribableChannel clientOutboundChannel;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final Map<Long, AuctionTopic> topics = new ConcurrentHashMap<>();
+    private final Map<Long, AuctionPriceChangedEvent> latest = new ConcurrentHashMap<>();
+    private final BlockingQueue<Long> dirtyAuctions = new LinkedBlockingQueue<>();
+    private volatile boolean running;
+    private Thread fanoutThread;
+    private Counter droppedCounter;
+
+    @PostConstruct
+    public void start() {
+        meterRegistry.gaugeMapSize("smartbid.websocket.sessions", Tags.empty(), subscribers);
+        droppedCounter = meterRegistry.counter("smartbid.websocket.slow-consumers.dropped");
+
+        running = true;
+        fanoutThread = new Thread(this::runFanout, "auction-fanout");
+        fanoutThread.setDaemon(true);
+        fanoutThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        fanoutThread.interrupt();
+        fanoutThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * Publish a price update; a newer update for the same auction replaces one not yet fanned out
+     */
+    public void publish(AuctionPriceChangedEvent event) {
+        if (latest.put(event.getAuctionId(), event) == null) {
+            dirtyAuctions.offer(event.getAuctionId());
+        }
+    }
+
+    public int getSubscriberCount(Long auctionId) {
+        AuctionTopic topic = topics.get(auctionId);
+        return topic != null ? topic.subscribers.size() : 0;
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Long auctionId = parseAuctionId(accessor.getDestination());
+        if (auctionId == null || accessor.getSessionId() == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        Subscriber subscriber = subscribers.computeIfAbsent(accessor.getSessionId(), Subscriber::new);
+        subscriber.subscriptions.put(accessor.getSubscriptionId(), auctionId);
+        subscriber.subscriptionByAuction.put(auctionId, accessor.getSubscriptionId());
+        topics.compute(auctionId, (id, topic) -> {
+            AuctionTopic joined = topic != null ? topic : new AuctionTopic(id);
+            joined.subscribers.add(subscriber);
+            return joined;
+        });
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Subscriber subscriber = subscribers.get(accessor.getSessionId());
+        if (subscriber == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        Long auctionId = subscriber.subscriptions.remove(accessor.getSubscriptionId());
+        if (auctionId != null) {
+            subscriber.subscriptionByAuction.remove(auctionId, accessor.getSubscriptionId());
+            leave(subscriber, auctionId);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Subscriber subscriber = subscribers.remove(event.getSessionId());
+        if (subscriber == null) {
+            return;
+        }
+        synchronized (subscriber) {
+            subscriber.dropped = true;
+            subscriber.pending.clear();
+        }
+        subscriber.subscriptionByAuction.keySet().forEach(auctionId -> leave(subscriber, auctionId));
+    }
+
+    /**
+     * Wrap the raw WebSocket session so an update is credited back only once it is on the socket
+     * Spring's ConcurrentWebSocketSessionDecorator sits above this session and buffers frames for
+     * a slow client, so the outbound channel finishing with a frame says nothing about the client
+     */
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                super.afterConnectionEstablished(new WebSocketSessionDecorator(session) {
+                    @Override
+                    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+                        super.sendMessage(message);
+                        if (isFanoutFrame(message)) {
+                            onWritten(getId());
+                        }
+                    }
+                });
+            }
+        };
+    }
+
+    // Credit the session back and send what queued up while it was at its limit
+    private void onWritten(String sessionId) {
+        Subscriber subscriber = subscribers.get(sessionId);
+        if (subscriber == null) {
+            return;
+        }
+        synchronized (subscriber) {
+            subscriber.inFlight--;
+            Iterator<Message<byte[]>> queued = subscriber.pending.values().iterator();
+            while (queued.hasNext() && subscriber.inFlight < maxInFlight && !subscriber.dropped) {
+                Message<byte[]> next = queued.next();
+                queued.remove();
+                send(subscriber, next);
+            }
+            if (subscriber.pending.isEmpty()) {
+                subscriber.behindSince = 0;
+            }
+        }
+    }
+
+    // Only the STOMP header block is searched, it precedes the blank line
+    private static boolean isFanoutFrame(WebSocketMessage<?> message) {
+        String frame;
+        if (message instanceof TextMessage text) {
+            frame = text.getPayload();
+        } else if (message instanceof BinaryMessage binary) {
+            ByteBuffer payload = binary.getPayload().duplicate();
+            byte[] head = new byte[Math.min(payload.remaining(), 512)];
+            payload.get(head);
+            frame = new String(head, StandardCharsets.UTF_8);
+        } else {
+            return false;
+        }
+        if (!frame.startsWith("MESSAGE")) {
+            return false;
+        }
+        int headersEnd = frame.indexOf("\n\n");
+        int marker = frame.indexOf(FANOUT_FRAME_MARKER);
+        return marker >= 0 && (headersEnd < 0 || marker < headersEnd);
+    }
+
+    private void runFanout() {
+        while (running) {
+            try {
+                Long auctionId = dirtyAuctions.poll(500, TimeUnit.MILLISECONDS);
+                if (auctionId == null) {
+                    continue;
+                }
+                AuctionPriceChangedEvent event = latest.remove(auctionId);
+                AuctionTopic topic = topics.get(auctionId);
+                if (event == null || topic == null) {
+                    continue;
+                }
+                Message<byte[]> encoded = encode(event);
+                for (Subscriber subscriber : topic.subscribers) {
+                    deliver(subscriber, topic, encoded);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Auction fan-out failed", e);
+            }
+        }
+    }
+
+    // Write now if the connection has room, otherwise keep only the newest update for this auction
+    private void deliver(Subscriber subscriber, AuctionTopic topic, Message<byte[]> encoded) {
+        boolean tooSlow = false;
+        synchronized (subscriber) {
+            if (subscriber.dropped) {
+                return;
+            }
+            if (subscriber.inFlight < maxInFlight && subscriber.pending.isEmpty()) {
+                send(subscriber, encoded);
+                return;
+            }
+            if (subscriber.pending.put(topic.auctionId, encoded) != null) {
+                topic.conflatedCounter.increment();
+            }
+            long now = System.currentTimeMillis();
+            if (subscriber.behindSince == 0) {
+                subscriber.behindSince = now;
+            } else if (now - subscriber.behindSince > slowConsumerTimeoutMs) {
+                subscriber.dropped = true;
+                subscriber.pending.clear();
+                tooSlow = true;
+            }
+        }
+        if (tooSlow) {
+            disconnect(subscriber);
+        }
+    }
+
+    // Must be called holding the subscriber's lock
+    private void send(Subscriber subscriber, Message<byte[]> encoded) {
+        Long auctionId = (Long) encoded.getHeaders().get(FANOUT_HEADER);
+        String subscriptionId = subscriber.subscriptionByAuction.get(auctionId);
+        if (subscriptionId == null) {
+            return;
+        }
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(subscriber.sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(TOPIC_PREFIX + auctionId);
+        accessor.setContentType(encoded.getHeaders().get(MessageHeaders.CONTENT_TYPE, MimeType.class));
+        accessor.setHeader(FANOUT_HEADER, auctionId);
+        accessor.setNativeHeader(FANOUT_FRAME_HEADER, auctionId.toString());
+        subscriber.inFlight++;
+        try {
+            clientOutboundChannel.send(MessageBuilder.createMessage(encoded.getPayload(), accessor.getMessageHeaders()));
+        } catch (MessagingException e) {
+            subscriber.inFlight--;
+            logger.warn("Could not push price update for auction {} to session {}", auctionId, subscriber.sessionId, e);
+        }
+    }
+
+    // An ERROR frame makes the STOMP handler close the WebSocket, which fires SessionDisconnectEvent
+    private void disconnect(Subscriber subscriber) {
+        droppedCounter.increment();
+        logger.warn("Disconnecting slow auction subscriber {}", subscriber.sessionId);
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.ERROR);
+        accessor.setMessage("Slow consumer, please reconnect");
+        accessor.setSessionId(subscriber.sessionId);
+        try {
+            clientOutboundChannel.send(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+        } catch (MessagingException e) {
+            logger.warn("Could not disconnect session {}", subscriber.sessionId, e);
+        }
+    }
+
+    // Serialize once per update, not once per subscriber
+    @SuppressWarnings("unchecked")
+    private Message<byte[]> encode(AuctionPriceChangedEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setHeader(FANOUT_HEADER, event.getAuctionId());
+        accessor.setLeaveMutable(true);
+        return (Message<byte[]>) messagingTemplate.getMessageConverter().toMessage(event, accessor.getMessageHeaders());
+    }
+
+    private void leave(Subscriber subscriber, Long auctionId) {
+        topics.computeIfPresent(auctionId, (id, topic) -> {
+            topic.subscribers.remove(subscriber);
+            if (!topic.subscribers.isEmpty()) {
+                return topic;
+            }
+            meterRegistry.remove(topic.subscriberGauge);
+            meterRegistry.remove(topic.conflatedCounter);
+            return null;
+        });
+    }
+
+    private static Long parseAuctionId(String destination) {
+        if (destination == null || !destination.startsWith(TOPIC_PREFIX)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(destination.substring(TOPIC_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private final class AuctionTopic {
+        private final Long auctionId;
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final Gauge subscriberGauge;
+        private final Counter conflatedCounter;
+
+        AuctionTopic(Long auctionId) {
+            this.auctionId = auctionId;
+            this.subscriberGauge = Gauge.builder("smartbid.websocket.auction.subscribers", subscribers, Set::size)
+                .tag("auction", auctionId.toString())
+                .register(meterRegistry);
+            this.conflatedCounter = Counter.builder("smartbid.websocket.auction.conflated")
+                .description("Updates replaced by a newer one before a slow subscriber received them")
+                .tag("auction", auctionId.toString())
+                .register(meterRegistry);
+        }
+    }
+
+    // Pending updates and in-flight count are guarded by the subscriber's monitor
+    private static final class Subscriber {
+        private final String sessionId;
+        private final Map<String, Long> subscriptions = new ConcurrentHashMap<>();
+        private final Map<Long, String> subscriptionByAuction = new ConcurrentHashMap<>();
+        private final Map<Long, Message<byte[]>> pending = new LinkedHashMap<>();
+        private int inFlight;
+        private long behindSince;
+        private boolean dropped;
+
+        Subscriber(String sessionId) {
+            this.sessionId = sessionId;
+        }
+    }
+}
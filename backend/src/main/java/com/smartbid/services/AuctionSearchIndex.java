@@ -0,0 +1,322 @@
+package com.smartbid.services;
+
+import com.smartbid.models.Auction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * AuctionSearchIndex is an in-memory inverted index over open auctions, ranked with BM25
+ * Title, category, AI tags and description are tokenized into one weighted bag of terms per
+ * auction. Each term keeps a posting list of internal document ids; updates append a new
+ * document and tombstone the old one, and the postings are compacted once dead documents
+ * outnumber live ones. Searches take a read lock and score only the postings of their terms.
+ */
+@Component
+public class AuctionSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionSearchIndex.class);
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final float TITLE_WEIGHT = 3f;
+    private static final float TAG_WEIGHT = 2f;
+    private static final float CATEGORY_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+        "of", "on", "or", "the", "this", "to", "with");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Integer> docByAuction = new HashMap<>();
+    private final List<Document> documents = new ArrayList<>();
+    private final BitSet live = new BitSet();
+    private double totalLength;
+    private int liveCount;
+
+    // Score accumulator sized to the document count, reused per search thread
+    private final ThreadLocal<float[]> scratch = ThreadLocal.withInitial(() -> new float[0]);
+
+    // Build the index from the open auctions without materializing entities
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        jdbcTemplate.query(
+            "SELECT id, title, description, category, ai_generated_tags FROM auctions " +
+            "WHERE status IN ('UPCOMING', 'ACTIVE')",
+            rs -> {
+                index(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5));
+            });
+        logger.info("Search index built with {} auctions and {} terms", size(), postings.size());
+    }
+
+    /**
+     * Add or replace an auction's document
+     */
+    public void index(Auction auction) {
+        index(auction.getId(), auction.getTitle(), auction.getDescription(),
+              auction.getCategory(), auction.getAiGeneratedTags());
+    }
+
+    /**
+     * Remove an auction that should no longer be found
+     */
+    public void remove(Long auctionId) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docByAuction.remove(auctionId);
+            if (doc != null) {
+                kill(doc);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rank auctions matching any query term; returns up to limit auction ids, best first
+     */
+    public SearchResult search(String query, int limit) {
+        List<String> terms = new ArrayList<>(termFrequencies(query, 1f).keySet());
+        lock.readLock().lock();
+        try {
+            if (terms.isEmpty() || liveCount == 0) {
+                return new SearchResult(new long[0], 0);
+            }
+            float[] reused = scratch.get();
+            if (reused.length < documents.size()) {
+                reused = new float[Math.max(documents.size(), reused.length * 2)];
+                scratch.set(reused);
+            }
+            float[] scores = reused;
+
+            // Accumulate BM25 per document, remembering which slots were touched so only they are reset
+            int[] touched = new int[16];
+            int touchedCount = 0;
+            float averageLength = (float) (totalLength / liveCount);
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list == null || list.documentFrequency == 0) {
+                    continue;
+                }
+                float idf = (float) Math.log(1 + (liveCount - list.documentFrequency + 0.5) / (list.documentFrequency + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int doc = list.docs[i];
+                    if (!live.get(doc)) {
+                        continue;
+                    }
+                    float tf = list.frequencies[i];
+                    float norm = K1 * (1 - B + B * documents.get(doc).length / averageLength);
+                    if (scores[doc] == 0) {
+                        if (touchedCount == touched.length) {
+                            touched = Arrays.copyOf(touched, touchedCount * 2);
+                        }
+                        touched[touchedCount++] = doc;
+                    }
+                    scores[doc] += idf * tf * (K1 + 1) / (tf + norm);
+                }
+            }
+
+            // Keep the best `limit` with a min-heap, then emit them best first
+            PriorityQueue<Integer> top = new PriorityQueue<>(
+                Math.max(1, Math.min(limit, touchedCount)), (x, y) -> Float.compare(scores[x], scores[y]));
+            for (int i = 0; i < touchedCount; i++) {
+                int doc = touched[i];
+                if (top.size() < limit) {
+                    top.offer(doc);
+                } else if (limit > 0 && scores[doc] > scores[top.peek()]) {
+                    top.poll();
+                    top.offer(doc);
+                }
+            }
+            long[] auctionIds = new long[top.size()];
+            for (int i = auctionIds.length - 1; i >= 0; i--) {
+                auctionIds[i] = documents.get(top.poll()).auctionId;
+            }
+            for (int i = 0; i < touchedCount; i++) {
+                scores[touched[i]] = 0;
+            }
+            return new SearchResult(auctionIds, touchedCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void index(Long auctionId, String title, String description, String category, String tags) {
+        Map<String, Float> frequencies = new HashMap<>();
+        addField(frequencies, title, TITLE_WEIGHT);
+        addField(frequencies, tags, TAG_WEIGHT);
+        addField(frequencies, category, CATEGORY_WEIGHT);
+        addField(frequencies, description, DESCRIPTION_WEIGHT);
+
+        String[] terms = frequencies.keySet().toArray(new String[0]);
+        float[] weights = new float[terms.length];
+        float length = 0;
+        for (int i = 0; i < terms.length; i++) {
+            weights[i] = frequencies.get(terms[i]);
+            length += weights[i];
+        }
+
+        lock.writeLock().lock();
+        try {
+            Integer previous = docByAuction.remove(auctionId);
+            if (previous != null) {
+                kill(previous);
+            }
+            int doc = documents.size();
+            documents.add(new Document(auctionId, terms, weights, length));
+            docByAuction.put(auctionId, doc);
+            live.set(doc);
+            liveCount++;
+            totalLength += length;
+            for (int i = 0; i < terms.length; i++) {
+                postings.computeIfAbsent(terms[i], t -> new PostingList()).add(doc, weights[i]);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Tombstone a document; its postings stay until the next compaction
+    private void kill(int doc) {
+        Document document = documents.get(doc);
+        live.clear(doc);
+        liveCount--;
+        totalLength -= document.length;
+        for (String term : document.terms) {
+            postings.get(term).documentFrequency--;
+        }
+    }
+
+    // Renumber live documents densely and rebuild the postings once most documents are dead
+    private void compactIfNeeded() {
+        int dead = documents.size() - liveCount;
+        if (dead < 1024 || dead < liveCount) {
+            return;
+        }
+        List<Document> survivors = new ArrayList<>(liveCount);
+        for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+            survivors.add(documents.get(doc));
+        }
+        documents.clear();
+        docByAuction.clear();
+        postings.clear();
+        live.clear();
+        for (Document document : survivors) {
+            int doc = documents.size();
+            documents.add(document);
+            docByAuction.put(document.auctionId, doc);
+            live.set(doc);
+            for (int i = 0; i < document.terms.length; i++) {
+                postings.computeIfAbsent(document.terms[i], t -> new PostingList()).add(doc, document.weights[i]);
+            }
+        }
+        logger.debug("Compacted search index to {} documents", liveCount);
+    }
+
+    private static void addField(Map<String, Float> frequencies, String text, float weight) {
+        termFrequencies(text, weight).forEach((term, tf) -> frequencies.merge(term, tf, Float::sum));
+    }
+
+    // Lower-cased runs of letters and digits, minus stop words
+    private static Map<String, Float> termFrequencies(String text, float weight) {
+        Map<String, Float> frequencies = new LinkedHashMap<>();
+        if (text == null) {
+            return frequencies;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String term = lower.substring(start, i);
+                if (!STOP_WORDS.contains(term)) {
+                    frequencies.merge(term, weight, Float::sum);
+                }
+                start = -1;
+            }
+        }
+        return frequencies;
+    }
+
+    private static final class Document {
+        private final long auctionId;
+        private final String[] terms;
+        private final float[] weights;
+        private final float length;
+
+        Document(long auctionId, String[] terms, float[] weights, float length) {
+            this.auctionId = auctionId;
+            this.terms = terms;
+            this.weights = weights;
+            this.length = length;
+        }
+    }
+
+    private static final class PostingList {
+        private int[] docs = new int[4];
+        private float[] frequencies = new float[4];
+        private int size;
+        private int documentFrequency;
+
+        void add(int doc, float frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size] = frequency;
+            size++;
+            documentFrequency++;
+        }
+    }
+
+    public static final class SearchResult {
+        private final long[] auctionIds;
+        private final int totalHits;
+
+        public SearchResult(long[] auctionIds, int totalHits) {
+            this.auctionIds = auctionIds;
+            this.totalHits = totalHits;
+        }
+
+        public long[] getAuctionIds() { return auctionIds; }
+        public int getTotalHits() { return totalHits; }
+    }
+}
@@ -5,23 +5,40 @@ import com.smartbid.models.Auction.AuctionStatus;
 import com.smartbid.models.Auction.AuctionType;
 import com.smartbid.models.User;
 import com.smartbid.repositories.AuctionRepository;
+import com.smartbid.repositories.AuctionSummary;
 import com.smartbid.repositories.BidRepository;
+import com.smartbid.repositories.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
 public class AuctionService {
 
+    // Bids that can hold the lead when an auction closes (ACTIVE only on rows from before WINNING existed)
+    private static final List<com.smartbid.models.Bid.BidStatus> LEADING_STATUSES =
+        List.of(com.smartbid.models.Bid.BidStatus.WINNING, com.smartbid.models.Bid.BidStatus.ACTIVE);
+
     @Autowired
     private AuctionRepository auctionRepository;
 
@@ -31,6 +48,48 @@ public class AuctionService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private OrderBookService orderBookService;
+
+    @Autowired
+    private AuctionLifecycleScheduler lifecycleScheduler;
+
+    @Autowired
+    private BidWriteBehind bidWriteBehind;
+
+    @Autowired
+    private SettlementService settlementService;
+
+    @Autowired
+    private AuctionSettlementPool settlementPool;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PriceAlertIndex priceAlertIndex;
+
+    @Autowired
+    private WatcherIndex watcherIndex;
+
+    @Autowired
+    private AuctionSearchIndex searchIndex;
+
+    @Autowired
+    private AuctionFacetIndex facetIndex;
+
+    @Autowired
+    private AuctionDetailCache detailCache;
+
+    @Autowired
+    private AuctionEngagementCounters engagementCounters;
+
     // Create a new auction
     public Auction createAuction(Auction auction, User user) {
         auction.setUser(user);
@@ -48,7 +107,12 @@ public class AuctionService {
             throw new IllegalArgumentException("End time must be after start time");
         }
         
-        return auctionRepository.save(auction);
+        Auction savedAuction = auctionRepository.save(auction);
+        lifecycleScheduler.track(savedAuction);
+        searchIndex.index(savedAuction);
+        facetIndex.index(savedAuction);
+        detailCache.invalidate(savedAuction.getId());
+        return savedAuction;
     }
 
     // Get auction by ID
@@ -57,14 +121,26 @@ public class AuctionService {
         return auctionRepository.findById(id);
     }
 
+    // Get the detail view of an auction, served from the near cache when possible
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<AuctionDetail> getAuctionDetail(Long id) {
+        return Optional.ofNullable(detailCache.get(id,
+            auctionId -> auctionRepository.findWithUserById(auctionId).map(AuctionDetail::of).orElse(null)));
+    }
+
+    // Get the detail view of an auction and count the view
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<AuctionDetail> getAuctionDetailAndIncrementView(Long id) {
+        Optional<AuctionDetail> detail = getAuctionDetail(id);
+        detail.ifPresent(d -> engagementCounters.recordView(id));
+        return detail;
+    }
+
     // Get auction by ID with view count increment
+    @Transactional(readOnly = true)
     public Optional<Auction> getAuctionByIdAndIncrementView(Long id) {
         Optional<Auction> auctionOpt = auctionRepository.findById(id);
-        if (auctionOpt.isPresent()) {
-            Auction auction = auctionOpt.get();
-            auction.incrementViewCount();
-            auctionRepository.save(auction);
-        }
+        auctionOpt.ifPresent(auction -> engagementCounters.recordView(id));
         return auctionOpt;
     }
 
@@ -98,10 +174,65 @@ public class AuctionService {
         return auctionRepository.findByUserId(userId, pageable);
     }
 
-    // Search auctions
+    // Search open auctions, ranked by relevance from the in-memory index
     @Transactional(readOnly = true)
-    public Page<Auction> searchAuctions(String searchTerm, Pageable pageable) {
-        return auctionRepository.searchAuctions(searchTerm, pageable);
+    public Page<AuctionSummary> searchAuctions(String searchTerm, Pageable pageable) {
+        int limit = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+        AuctionSearchIndex.SearchResult result = searchIndex.search(searchTerm, limit);
+        long[] ranked = result.getAuctionIds();
+        List<AuctionSummary> content = findSummariesInOrder(ranked, (int) Math.min(pageable.getOffset(), ranked.length));
+        return new PageImpl<>(content, pageable, result.getTotalHits());
+    }
+
+    // Browse auctions by facet from the bitmap index, newest first, with counts for every facet value
+    // A cursor from a previous result continues below its last auction instead of using the page number
+    @Transactional(readOnly = true)
+    public AuctionBrowseResult browseAuctions(String category, String location, BigDecimal minPrice,
+                                              BigDecimal maxPrice, String condition, String status,
+                                              String type, String cursor, Pageable pageable) {
+        Map<String, String> filters = new HashMap<>();
+        filters.put(AuctionFacetIndex.CATEGORY, category);
+        filters.put(AuctionFacetIndex.LOCATION, location);
+        filters.put(AuctionFacetIndex.CONDITION, condition);
+        filters.put(AuctionFacetIndex.STATUS, status);
+        filters.put(AuctionFacetIndex.TYPE, type);
+        Long beforeAuctionId = null;
+        if (cursor != null) {
+            try {
+                beforeAuctionId = Long.valueOf(CursorPage.decodeCursor(cursor, 1)[0]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+        AuctionFacetIndex.BrowseResult result = facetIndex.browse(
+            filters, minPrice, maxPrice, beforeAuctionId, pageable.getOffset(), pageable.getPageSize());
+
+        long[] auctionIds = result.getAuctionIds();
+        String nextCursor = result.isHasMore() ? CursorPage.encodeCursor(auctionIds[auctionIds.length - 1]) : null;
+        Page<AuctionSummary> page = new PageImpl<>(findSummariesInOrder(auctionIds, 0), pageable, result.getTotalHits());
+        return new AuctionBrowseResult(page, nextCursor, result.getFacets());
+    }
+
+    // Load card views by id, keeping the given order and skipping ids deleted in the meantime
+    private List<AuctionSummary> findSummariesInOrder(long[] auctionIds, int from) {
+        List<Long> pageIds = new ArrayList<>();
+        for (int i = from; i < auctionIds.length; i++) {
+            pageIds.add(auctionIds[i]);
+        }
+        if (pageIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, AuctionSummary> byId = new HashMap<>();
+        auctionRepository.findSummariesByIdIn(pageIds).forEach(auction -> byId.put(auction.getId(), auction));
+
+        List<AuctionSummary> content = new ArrayList<>(pageIds.size());
+        for (Long id : pageIds) {
+            AuctionSummary auction = byId.get(id);
+            if (auction != null) {
+                content.add(auction);
+            }
+        }
+        return content;
     }
 
     // Get auctions with filters
@@ -169,7 +300,13 @@ public class AuctionService {
             existingAuction.setBuyNowPrice(updatedAuction.getBuyNowPrice());
         }
 
-        return auctionRepository.save(existingAuction);
+        Auction savedAuction = auctionRepository.save(existingAuction);
+        // Upcoming auctions take no bids, so a book loaded early is simply rebuilt with the new prices
+        orderBookService.evict(auctionId);
+        searchIndex.index(savedAuction);
+        facetIndex.index(savedAuction);
+        detailCache.invalidate(savedAuction.getId());
+        return savedAuction;
     }
 
     // Start auction (change status from UPCOMING to ACTIVE)
@@ -191,11 +328,19 @@ public class AuctionService {
         }
 
         auction.setStatus(AuctionStatus.ACTIVE);
-        return auctionRepository.save(auction);
+        Auction startedAuction = auctionRepository.save(auction);
+        orderBookService.refresh(startedAuction);
+        lifecycleScheduler.track(startedAuction);
+        facetIndex.updateStatus(auctionId, AuctionStatus.ACTIVE);
+        detailCache.invalidate(auctionId);
+        return startedAuction;
     }
 
     // End auction manually
     public Auction endAuction(Long auctionId, User user) {
+        // Queued bids must land first so the auction row is current
+        bidWriteBehind.awaitPendingWrites(auctionId);
+
         Optional<Auction> auctionOpt = auctionRepository.findById(auctionId);
         if (!auctionOpt.isPresent()) {
             throw new IllegalArgumentException("Auction not found");
@@ -212,6 +357,7 @@ public class AuctionService {
             throw new IllegalArgumentException("Only active auctions can be ended");
         }
 
+        lifecycleScheduler.untrack(auctionId);
         return endAuctionProcess(auction);
     }
 
@@ -234,59 +380,164 @@ public class AuctionService {
             throw new IllegalArgumentException("Cannot cancel ended auctions");
         }
 
-        if (auction.getBidCount() > 0) {
-            throw new IllegalArgumentException("Cannot cancel auctions with bids");
-        }
+        AuctionOrderBook orderBook = orderBookService.getOrderBook(auction);
+        synchronized (orderBook) {
+            // Accepted bids may still be queued for write-behind, the book counts them already
+            bidWriteBehind.awaitPendingWrites(auctionId);
+            if (orderBook.getBidCount() > 0) {
+                throw new IllegalArgumentException("Cannot cancel auctions with bids");
+            }
 
-        auction.setStatus(AuctionStatus.CANCELLED);
+            // Bids waiting on the lock now see the auction cancelled
+            auction.setStatus(AuctionStatus.CANCELLED);
+            orderBookService.refresh(auction);
+        }
+        lifecycleScheduler.untrack(auctionId);
+        priceAlertIndex.removeAuction(auctionId);
+        searchIndex.remove(auctionId);
+        facetIndex.updateStatus(auctionId, AuctionStatus.CANCELLED);
+        detailCache.invalidate(auctionId);
         return auctionRepository.save(auction);
     }
 
-    // Process ended auctions (scheduled task)
-    @Transactional
+    // Process ended auctions (safety net, the lifecycle scheduler normally ends them on time)
+    @Transactional(readOnly = true)
     public void processEndedAuctions() {
-        LocalDateTime now = LocalDateTime.now();
-        List<Auction> endingAuctions = auctionRepository.findAuctionsEndingSoon(now.minusMinutes(1), now);
-        
-        for (Auction auction : endingAuctions) {
-            if (auction.getStatus() == AuctionStatus.ACTIVE) {
-                endAuctionProcess(auction);
+        // Settlement workers close them in parallel batches, each in its own transaction
+        settlementPool.enqueueAll(
+            auctionRepository.findIdsByStatusAndEndTimeBefore(AuctionStatus.ACTIVE, LocalDateTime.now()));
+    }
+
+    // Close a batch of due auctions and settle all their bids with one statement (settlement workers)
+    public int closeDueAuctions(List<Long> auctionIds, LocalDateTime now) {
+        List<Auction> closing = new ArrayList<>();
+        List<Long> winningBidIds = new ArrayList<>();
+        for (Auction auction : auctionRepository.findAllById(auctionIds)) {
+            if (auction.getStatus() != AuctionStatus.ACTIVE || auction.getEndTime().isAfter(now)) {
+                continue;
+            }
+            lifecycleScheduler.untrack(auction.getId());
+            Long winningBidId = closeAuction(auction);
+            if (winningBidId != null) {
+                winningBidIds.add(winningBidId);
             }
+            closing.add(auction);
         }
+
+        settleAndNotify(closing, winningBidIds);
+        auctionRepository.saveAll(closing);
+        return closing.size();
+    }
+
+    // Activate an upcoming auction whose start time has passed (lifecycle scheduler)
+    public Optional<Auction> activateIfDue(Long auctionId, LocalDateTime now) {
+        Optional<Auction> auctionOpt = auctionRepository.findById(auctionId);
+        if (auctionOpt.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Auction auction = auctionOpt.get();
+        if (auction.getStatus() != AuctionStatus.UPCOMING || auction.getStartTime().isAfter(now)) {
+            return Optional.empty();
+        }
+
+        auction.setStatus(AuctionStatus.ACTIVE);
+        orderBookService.refresh(auction);
+        facetIndex.updateStatus(auctionId, AuctionStatus.ACTIVE);
+        detailCache.invalidate(auctionId);
+        return Optional.of(auctionRepository.save(auction));
     }
 
     // Internal method to end auction and determine winner
     private Auction endAuctionProcess(Auction auction) {
-        auction.setStatus(AuctionStatus.ENDED);
+        Long winningBidId = closeAuction(auction);
+        settleAndNotify(List.of(auction), winningBidId != null ? List.of(winningBidId) : List.of());
+        return auctionRepository.save(auction);
+    }
+
+    // Mark the auction ended and pick its winner, returning the winning bid id if it sold
+    private Long closeAuction(Auction auction) {
+        AuctionOrderBook orderBook = orderBookService.getOrderBook(auction);
+        synchronized (orderBook) {
+            // Bids accepted before the deadline may still be queued for write-behind
+            bidWriteBehind.awaitPendingWrites(auction.getId());
+
+            // The book is never behind the database, so it settles price and bid count
+            auction.setCurrentPrice(orderBook.getCurrentPrice());
+            auction.setBidCount(orderBook.getBidCount());
+            auction.setStatus(AuctionStatus.ENDED);
+            // Bids waiting on the lock now see the auction ended; the book is only dropped once the
+            // close is over, so nothing reloads it from the still active row in the meantime
+            orderBookService.refresh(auction);
+        }
+        AfterCommit.runAfterCompletion(() -> orderBookService.evict(auction.getId()));
+        // Indexes and caches follow the database, so they only change once the close commits
+        AfterCommit.run(() -> {
+            priceAlertIndex.removeAuction(auction.getId());
+            searchIndex.remove(auction.getId());
+            facetIndex.index(auction);
+        });
+        // Defers its own publish to the commit, like every other change
+        detailCache.invalidate(auction.getId());
+        meterRegistry.timer("smartbid.auctions.close.lag")
+            .record(Duration.between(auction.getEndTime(), LocalDateTime.now()));
         
-        // Find highest bid
-        Optional<com.smartbid.models.Bid> highestBidOpt = bidRepository.findHighestBidByAuction(auction.getId());
+        // The database holds one leading bid per auction whichever node accepted it, this node's book may be stale
+        Optional<com.smartbid.models.Bid> highestBidOpt = bidRepository
+            .findFirstByAuctionIdAndStatusInOrderByBidAmountDescCreatedAtAsc(auction.getId(), LEADING_STATUSES);
         
-        if (highestBidOpt.isPresent()) {
-            com.smartbid.models.Bid winningBid = highestBidOpt.get();
-            
-            // Check if reserve price is met
-            if (auction.isReserveMet()) {
-                auction.setWinnerId(winningBid.getUser().getId());
-                auction.setFinalPrice(winningBid.getBidAmount());
-                
-                // Update bid status
-                winningBid.setStatus(com.smartbid.models.Bid.BidStatus.WON);
-                bidRepository.save(winningBid);
-                
-                // Send winner notification
-                notificationService.sendAuctionWonNotification(winningBid.getUser(), auction);
-                notificationService.sendAuctionSoldNotification(auction.getUser(), auction);
-            } else {
-                // Reserve not met, no winner
-                notificationService.sendReserveNotMetNotification(auction.getUser(), auction);
-            }
+        if (highestBidOpt.isEmpty()) {
+            return null;
         }
+
+        com.smartbid.models.Bid winningBid = highestBidOpt.get();
+        auction.setCurrentPrice(winningBid.getBidAmount());
         
-        // Update other losing bids
-        bidRepository.updateLostBidsForEndedAuctions(LocalDateTime.now());
+        // Check if reserve price is met
+        if (!auction.isReserveMet()) {
+            // Reserve not met, no winner
+            AfterCommit.run(() -> notificationService.sendReserveNotMetNotification(auction.getUser(), auction));
+            return null;
+        }
+
+        auction.setWinnerId(winningBid.getUser().getId());
+        auction.setFinalPrice(winningBid.getBidAmount());
         
-        return auctionRepository.save(auction);
+        // Send winner notification, only once the settlement has committed
+        AfterCommit.run(() -> {
+            notificationService.sendAuctionWonNotification(winningBid.getUser(), auction);
+            notificationService.sendAuctionSoldNotification(auction.getUser(), auction);
+            emailService.sendAuctionWonEmail(winningBid.getUser(), auction.getTitle(),
+                                             String.format("$%.2f", winningBid.getBidAmount()));
+        });
+        return winningBid.getId();
+    }
+
+    // Settle WON/LOST for the closed auctions in one statement and tell the losing bidders
+    private void settleAndNotify(List<Auction> auctions, List<Long> winningBidIds) {
+        Map<Long, Auction> auctionsById = new LinkedHashMap<>();
+        for (Auction auction : auctions) {
+            auctionsById.put(auction.getId(), auction);
+        }
+
+        Map<Long, Set<Long>> losers = settlementService.settle(auctionsById.keySet(), winningBidIds);
+        AfterCommit.run(() -> losers.forEach((auctionId, bidderIds) -> bidderIds.forEach(
+            bidderId -> notificationService.sendAuctionLostNotification(bidderId, auctionsById.get(auctionId)))));
+
+        // Load every losing bidder once for the emails, however many auctions they lost
+        Set<Long> loserIds = new HashSet<>();
+        losers.values().forEach(loserIds::addAll);
+        if (loserIds.isEmpty()) {
+            return;
+        }
+        Map<Long, User> usersById = new HashMap<>();
+        userRepository.findAllById(loserIds).forEach(user -> usersById.put(user.getId(), user));
+        AfterCommit.run(() -> losers.forEach((auctionId, bidderIds) -> bidderIds.forEach(bidderId -> {
+            User bidder = usersById.get(bidderId);
+            if (bidder != null) {
+                emailService.sendAuctionLostEmail(bidder, auctionsById.get(auctionId).getTitle());
+            }
+        })));
     }
 
     // Get auction statistics for user
@@ -303,7 +554,7 @@ public class AuctionService {
 
     // Get similar auctions
     @Transactional(readOnly = true)
-    public List<Auction> getSimilarAuctions(Long auctionId, Pageable pageable) {
+    public List<AuctionSummary> getSimilarAuctions(Long auctionId, Pageable pageable) {
         Optional<Auction> auctionOpt = auctionRepository.findById(auctionId);
         if (!auctionOpt.isPresent()) {
             return List.of();
@@ -341,6 +592,12 @@ public class AuctionService {
             throw new IllegalArgumentException("Cannot delete auctions with bids");
         }
 
+        lifecycleScheduler.untrack(auctionId);
+        priceAlertIndex.removeAuction(auctionId);
+        watcherIndex.removeAuction(auctionId);
+        searchIndex.remove(auctionId);
+        facetIndex.remove(auctionId);
+        detailCache.invalidate(auctionId);
         auctionRepository.delete(auction);
     }
 
@@ -383,7 +640,13 @@ public class AuctionService {
             throw new IllegalArgumentException("Cannot update ended or cancelled auctions");
         }
 
-        return auctionRepository.save(auction);
+        // Start or end time may have moved
+        Auction savedAuction = auctionRepository.save(auction);
+        lifecycleScheduler.track(savedAuction);
+        searchIndex.index(savedAuction);
+        facetIndex.index(savedAuction);
+        detailCache.invalidate(savedAuction.getId());
+        return savedAuction;
     }
 
     /**
@@ -400,31 +663,53 @@ public class AuctionService {
     /**
      * Get auctions by seller with pagination
      */
-    public Page<Auction> getAuctionsBySeller(Long sellerId, Pageable pageable) {
-        return auctionRepository.findByUserId(sellerId, pageable);
+    public Page<AuctionSummary> getAuctionsBySeller(Long sellerId, Pageable pageable) {
+        return auctionRepository.findSummariesBySeller(sellerId, pageable);
+    }
+
+    /**
+     * Get auctions by seller one keyset slice at a time, latest ending first; counting is opt-in
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<AuctionSummary> getAuctionsBySeller(Long sellerId, String cursor, int size, boolean includeCount) {
+        Pageable limit = CursorPage.limit(size);
+        List<AuctionSummary> auctions;
+        if (cursor == null) {
+            auctions = auctionRepository.findSellerAuctionsFirst(sellerId, limit);
+        } else {
+            String[] keys = CursorPage.decodeCursor(cursor, 2);
+            try {
+                auctions = auctionRepository.findSellerAuctionsAfter(
+                    sellerId, LocalDateTime.parse(keys[0]), Long.valueOf(keys[1]), limit);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+        Long total = includeCount ? auctionRepository.countByUserId(sellerId) : null;
+        return CursorPage.of(auctions, size, last -> CursorPage.encodeCursor(last.getEndTime(), last.getId()), total);
     }
 
     /**
      * Get ending soon auctions
      */
-    public List<Auction> getEndingSoonAuctions() {
+    public List<AuctionSummary> getEndingSoonAuctions() {
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime endTime = now.plusHours(24); // Next 24 hours
-        return auctionRepository.findAuctionsEndingSoon(now, endTime);
+        return auctionRepository.findEndingSoonSummaries(now, endTime);
     }
 
     /**
      * Get popular auctions
      */
-    public List<Auction> getPopularAuctions() {
-        return auctionRepository.findFeaturedAuctions(PageRequest.of(0, 10));
+    public List<AuctionSummary> getPopularAuctions() {
+        return auctionRepository.findFeaturedSummaries(PageRequest.of(0, 10));
     }
 
     /**
      * Get similar auctions - wrapper for single ID
      */
-    public List<Auction> getSimilarAuctions(Long auctionId) {
-        List<Auction> similarAuctions = getSimilarAuctions(auctionId, PageRequest.of(0, 10));
+    public List<AuctionSummary> getSimilarAuctions(Long auctionId) {
+        List<AuctionSummary> similarAuctions = getSimilarAuctions(auctionId, PageRequest.of(0, 10));
         return similarAuctions;
     }
 
@@ -444,17 +729,46 @@ public class AuctionService {
     /**
      * Search auctions by title with pagination
      */
-    public Page<Auction> searchAuctionsByTitle(String query, Pageable pageable) {
+    public Page<AuctionSummary> searchAuctionsByTitle(String query, Pageable pageable) {
         return searchAuctions(query, pageable);
     }
 
     /**
      * Enhanced search with multiple filters
      */
-    public Page<Auction> searchAuctions(String category, String location, BigDecimal minPrice, 
+    public Page<AuctionSummary> searchAuctions(String category, String location, BigDecimal minPrice, 
                                       BigDecimal maxPrice, String condition, Pageable pageable) {
-        // For now, fallback to simple search - can be enhanced later
-        return getAllAuctions(pageable);
+        AuctionBrowseResult result = browseAuctions(category, location, minPrice, maxPrice, condition, null, null, null, pageable);
+        return new PageImpl<>(result.getContent(), pageable, result.getTotalElements());
+    }
+
+    // Browse page: Page fields, a cursor for the next page and value counts per facet
+    public static class AuctionBrowseResult {
+        private final List<AuctionSummary> content;
+        private final int number;
+        private final int size;
+        private final long totalElements;
+        private final int totalPages;
+        private final String nextCursor;
+        private final Map<String, Map<String, Integer>> facets;
+
+        public AuctionBrowseResult(Page<AuctionSummary> page, String nextCursor, Map<String, Map<String, Integer>> facets) {
+            this.content = page.getContent();
+            this.number = page.getNumber();
+            this.size = page.getSize();
+            this.totalElements = page.getTotalElements();
+            this.totalPages = page.getTotalPages();
+            this.nextCursor = nextCursor;
+            this.facets = facets;
+        }
+
+        public List<AuctionSummary> getContent() { return content; }
+        public int getNumber() { return number; }
+        public int getSize() { return size; }
+        public long getTotalElements() { return totalElements; }
+        public int getTotalPages() { return totalPages; }
+        public String getNextCursor() { return nextCursor; }
+        public Map<String, Map<String, Integer>> getFacets() { return facets; }
     }
 
     /**
@@ -0,0 +1,164 @@
+package com.smartbid.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AuctionSettlementPool closes due auctions in parallel
+ * Auctions ending together (top of the hour) are drained into batches and spread over a
+ * small worker pool; each batch settles in its own short transaction, and a semaphore caps
+ * how many of those hold a database connection at once.
+ */
+@Component
+public class AuctionSettlementPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionSettlementPool.class);
+
+    @Value("${smartbid.settlement.workers:4}")
+    private int workerCount;
+
+    @Value("${smartbid.settlement.max-db-concurrency:4}")
+    private int maxDbConcurrency;
+
+    @Value("${smartbid.settlement.batch-size:100}")
+    private int batchSize;
+
+    @Autowired
+    @Lazy
+    private AuctionService auctionService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final LinkedBlockingQueue<Long> due = new LinkedBlockingQueue<>();
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet(); // Queued or being settled
+    private final AtomicInteger activeBatches = new AtomicInteger();
+    private ExecutorService workers;
+    private Semaphore workerSlots;
+    private Semaphore dbPermits;
+    private Thread dispatcher;
+    private volatile boolean running;
+    private Counter settledCounter;
+    private Counter failedCounter;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "auction-settlement-" + threadIndex.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        workerSlots = new Semaphore(workerCount);
+        dbPermits = new Semaphore(maxDbConcurrency);
+
+        Gauge.builder("smartbid.settlement.queue.size", due, Collection::size)
+            .description("Due auctions waiting for a settlement worker")
+            .register(meterRegistry);
+        Gauge.builder("smartbid.settlement.batches.active", activeBatches, AtomicInteger::get)
+            .description("Settlement batches currently running")
+            .register(meterRegistry);
+        settledCounter = meterRegistry.counter("smartbid.settlement.auctions.closed");
+        failedCounter = meterRegistry.counter("smartbid.settlement.batches.failed");
+
+        running = true;
+        dispatcher = new Thread(this::runDispatcher, "auction-settlement-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        dispatcher.interrupt();
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Queue an auction for closing; duplicates of an auction already queued are ignored
+     */
+    public void enqueue(Long auctionId) {
+        if (pending.add(auctionId)) {
+            due.add(auctionId);
+        }
+    }
+
+    public void enqueueAll(Collection<Long> auctionIds) {
+        auctionIds.forEach(this::enqueue);
+    }
+
+    // Drain whatever is due into batches and hand each one to a worker
+    private void runDispatcher() {
+        while (running) {
+            try {
+                // Wait for an idle worker first so batches grow while all workers are busy
+                workerSlots.acquire();
+                Long first = due.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    workerSlots.release();
+                    continue;
+                }
+                List<Long> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                due.drainTo(batch, batchSize - 1);
+                activeBatches.incrementAndGet();
+                workers.execute(() -> settleBatch(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void settleBatch(List<Long> batch) {
+        try {
+            dbPermits.acquire();
+            try {
+                Integer closed = transactionTemplate.execute(
+                    status -> auctionService.closeDueAuctions(batch, LocalDateTime.now()));
+                settledCounter.increment(closed != null ? closed : 0);
+            } finally {
+                dbPermits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // The lifecycle sweep picks these auctions up again
+            failedCounter.increment();
+            logger.error("Failed to settle batch of {} auctions", batch.size(), e);
+        } finally {
+            pending.removeAll(batch);
+            activeBatches.decrementAndGet();
+            workerSlots.release();
+        }
+    }
+}
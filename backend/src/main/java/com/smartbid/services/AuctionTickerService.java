@@ -0,0 +1,420 @@
+package com.smartbid.services;
+
+import com.smartbid.repositories.AuctionRepository;
+import com.smartbid.repositories.AuctionSummary;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AuctionTickerService keeps the home page's ending-soon and popular lists in memory
+ * and streams changes to them over server-sent events. The lists are reconciled against
+ * the database on a fixed interval, independent of how many clients are connected, and
+ * accepted bids update prices in between. All model changes happen on a single ticker
+ * thread, so the model needs no locking. Each client has its own bounded queue that keeps only
+ * the latest change per list and auction, drained by a small sender pool; a client that falls
+ * too far behind or whose send stalls is dropped, so it never delays the others or a bid. A sender
+ * stuck in a dropped client's write is replaced in the pool until the write gives up.
+ */
+@Service
+public class AuctionTickerService {
+
+    public static final String ENDING_SOON = "endingSoon";
+    public static final String POPULAR = "popular";
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionTickerService.class);
+
+    @Value("${smartbid.ticker.ending-soon-hours:24}")
+    private long endingSoonHours;
+
+    @Value("${smartbid.ticker.popular-size:10}")
+    private int popularSize;
+
+    @Value("${smartbid.ticker.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${smartbid.ticker.senders:4}")
+    private int senderCount;
+
+    @Value("${smartbid.ticker.max-pending:256}")
+    private int maxPending;
+
+    @Value("${smartbid.ticker.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    private final Map<String, Map<Long, TickerEntry>> lists = new LinkedHashMap<>();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private ExecutorService ticker;
+    private ThreadPoolExecutor senders;
+    private int blockedSenders; // Guarded by this
+
+    @PostConstruct
+    public void start() {
+        lists.put(ENDING_SOON, new LinkedHashMap<>());
+        lists.put(POPULAR, new LinkedHashMap<>());
+        ticker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "auction-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger senderIndex = new AtomicInteger();
+        senders = new ThreadPoolExecutor(senderCount, senderCount, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "auction-ticker-sender-" + senderIndex.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(this::drop);
+    }
+
+    /**
+     * Open a stream; the client first receives a snapshot of both lists, then only changes
+     */
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(emitterTimeoutMs));
+    }
+
+    // Package-private so tests can stand in for a client's connection
+    SseEmitter subscribe(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> forget(subscriber));
+        emitter.onTimeout(() -> forget(subscriber));
+        emitter.onError(e -> forget(subscriber));
+        execute(() -> {
+            Map<String, List<TickerEntry>> snapshot = new LinkedHashMap<>();
+            lists.forEach((name, entries) -> snapshot.put(name, new ArrayList<>(entries.values())));
+            offer(subscriber, "snapshot", new TickerEvent("snapshot", snapshot));
+            subscribers.add(subscriber);
+        });
+        return emitter;
+    }
+
+    /**
+     * Apply an accepted bid to whichever lists show the auction
+     */
+    public void onPriceChanged(AuctionPriceChangedEvent event) {
+        execute(() -> lists.forEach((name, entries) -> {
+            TickerEntry entry = entries.get(event.getAuctionId());
+            if (entry != null && entry.currentPrice.compareTo(event.getCurrentPrice()) != 0) {
+                TickerEntry updated = entry.withPrice(event.getCurrentPrice(), event.getBidCount());
+                entries.put(updated.id, updated);
+                broadcast("price", new TickerChange(name, updated));
+            }
+        }));
+    }
+
+    // Reload both lists and stream what entered, left or changed price since the last pass
+    @Scheduled(fixedDelayString = "${smartbid.ticker.refresh-interval-ms:10000}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        List<TickerEntry> endingSoon = toEntries(
+            auctionRepository.findEndingSoonSummaries(now, now.plusHours(endingSoonHours)));
+        List<TickerEntry> popular = toEntries(
+            auctionRepository.findFeaturedSummaries(PageRequest.of(0, popularSize)));
+        execute(() -> {
+            reconcile(ENDING_SOON, endingSoon);
+            reconcile(POPULAR, popular);
+            // Keeps idle connections open through proxies, weeds out dead clients and drops stalled ones
+            long sentBefore = System.currentTimeMillis();
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.isStalled(sentBefore, sendTimeoutMs)) {
+                    logger.info("Dropping ticker subscriber whose send has been blocked for over {} ms", sendTimeoutMs);
+                    writeOff(subscriber);
+                    drop(subscriber);
+                } else {
+                    offer(subscriber, "ping", TickerEvent.PING);
+                }
+            }
+        });
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private void reconcile(String name, List<TickerEntry> fresh) {
+        Map<Long, TickerEntry> current = lists.get(name);
+        Map<Long, TickerEntry> next = new LinkedHashMap<>();
+        fresh.forEach(entry -> next.put(entry.id, entry));
+
+        for (TickerEntry old : current.values()) {
+            if (!next.containsKey(old.id)) {
+                broadcast("left", new TickerChange(name, old));
+            }
+        }
+        for (TickerEntry entry : next.values()) {
+            TickerEntry old = current.get(entry.id);
+            if (old == null) {
+                broadcast("entered", new TickerChange(name, entry));
+            } else if (old.currentPrice.compareTo(entry.currentPrice) != 0
+                       || !Objects.equals(old.bidCount, entry.bidCount)) {
+                broadcast("price", new TickerChange(name, entry));
+            }
+        }
+        lists.put(name, next);
+    }
+
+    private void broadcast(String eventName, TickerChange change) {
+        // A newer change to the same auction in the same list replaces one the client has not received yet
+        String key = change.getList() + ":" + change.getAuction().getId();
+        TickerEvent event = new TickerEvent(eventName, change);
+        for (Subscriber subscriber : subscribers) {
+            offer(subscriber, key, event);
+        }
+    }
+
+    // Queue an event for one client and make sure a sender is draining it
+    private void offer(Subscriber subscriber, String key, TickerEvent event) {
+        boolean overflow = false;
+        synchronized (subscriber) {
+            if (subscriber.closed) {
+                return;
+            }
+            if (!subscriber.pending.containsKey(key) && subscriber.pending.size() >= maxPending) {
+                overflow = true;
+            } else {
+                subscriber.pending.put(key, event);
+                if (!subscriber.draining) {
+                    subscriber.draining = true;
+                    try {
+                        senders.execute(() -> drain(subscriber));
+                    } catch (RejectedExecutionException e) {
+                        subscriber.draining = false;
+                    }
+                }
+            }
+        }
+        if (overflow) {
+            logger.info("Dropping ticker subscriber with {} undelivered changes", maxPending);
+            drop(subscriber);
+        }
+    }
+
+    // Runs on a sender thread, one at a time per client, until its queue is empty
+    private void drain(Subscriber subscriber) {
+        boolean closed;
+        while (true) {
+            TickerEvent next;
+            synchronized (subscriber) {
+                if (subscriber.closed || subscriber.pending.isEmpty()) {
+                    subscriber.draining = false;
+                    closed = subscriber.closed;
+                    break;
+                }
+                Iterator<TickerEvent> queued = subscriber.pending.values().iterator();
+                next = queued.next();
+                queued.remove();
+                subscriber.sendingSince = System.currentTimeMillis();
+            }
+            boolean sent = send(subscriber.emitter, next);
+            boolean writtenOff;
+            synchronized (subscriber) {
+                subscriber.sendingSince = 0;
+                writtenOff = subscriber.writtenOff;
+                subscriber.writtenOff = false;
+            }
+            if (writtenOff) {
+                resizeSenders(-1);
+            }
+            if (!sent) {
+                forget(subscriber);
+            }
+        }
+        if (closed) {
+            complete(subscriber.emitter);
+        }
+    }
+
+    private boolean send(SseEmitter emitter, TickerEvent event) {
+        try {
+            emitter.send(event.data == null
+                ? SseEmitter.event().comment(event.name)
+                : SseEmitter.event().name(event.name).data(event.data));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Dropping ticker subscriber: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    // Stop counting the sender stuck in a client's write toward the pool, so a fresh one serves the others
+    private void writeOff(Subscriber subscriber) {
+        synchronized (subscriber) {
+            if (subscriber.writtenOff || subscriber.sendingSince == 0) {
+                return;
+            }
+            subscriber.writtenOff = true;
+        }
+        resizeSenders(1);
+    }
+
+    // The pool always has senderCount threads free of stalled writes; the limit moves first when growing
+    private synchronized void resizeSenders(int delta) {
+        blockedSenders += delta;
+        int size = senderCount + blockedSenders;
+        if (delta > 0) {
+            senders.setMaximumPoolSize(size);
+            senders.setCorePoolSize(size);
+        } else {
+            senders.setCorePoolSize(size);
+            senders.setMaximumPoolSize(size);
+        }
+    }
+
+    // Stop delivering to a client; completing an emitter in the middle of a send would block on it,
+    // so a busy client is completed by its sender once the send returns
+    private void drop(Subscriber subscriber) {
+        boolean idle = forget(subscriber);
+        if (idle) {
+            complete(subscriber.emitter);
+        }
+    }
+
+    // Returns true if no sender is working on the client
+    private boolean forget(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        synchronized (subscriber) {
+            subscriber.closed = true;
+            subscriber.pending.clear();
+            return !subscriber.draining;
+        }
+    }
+
+    private void complete(SseEmitter emitter) {
+        try {
+            emitter.complete();
+        } catch (IllegalStateException e) {
+            logger.debug("Ticker subscriber already completed: {}", e.getMessage());
+        }
+    }
+
+    private void execute(Runnable task) {
+        try {
+            ticker.execute(task);
+        } catch (RejectedExecutionException e) {
+            logger.debug("Ticker is shutting down");
+        }
+    }
+
+    private static List<TickerEntry> toEntries(List<AuctionSummary> auctions) {
+        List<TickerEntry> entries = new ArrayList<>(auctions.size());
+        for (AuctionSummary auction : auctions) {
+            entries.add(new TickerEntry(auction.getId(), auction.getTitle(), auction.getFeaturedImageUrl(),
+                auction.getCurrentPrice(), auction.getBidCount(), auction.getWatchCount(), auction.getEndTime()));
+        }
+        return entries;
+    }
+
+    // The fields a home page card shows; immutable so it can be shared across subscribers
+    public static final class TickerEntry {
+        private final Long id;
+        private final String title;
+        private final String imageUrl;
+        private final BigDecimal currentPrice;
+        private final Integer bidCount;
+        private final Integer watchCount;
+        private final LocalDateTime endTime;
+
+        public TickerEntry(Long id, String title, String imageUrl, BigDecimal currentPrice,
+                           Integer bidCount, Integer watchCount, LocalDateTime endTime) {
+            this.id = id;
+            this.title = title;
+            this.imageUrl = imageUrl;
+            this.currentPrice = currentPrice != null ? currentPrice : BigDecimal.ZERO;
+            this.bidCount = bidCount;
+            this.watchCount = watchCount;
+            this.endTime = endTime;
+        }
+
+        TickerEntry withPrice(BigDecimal newPrice, int newBidCount) {
+            return new TickerEntry(id, title, imageUrl, newPrice, newBidCount, watchCount, endTime);
+        }
+
+        public Long getId() { return id; }
+        public String getTitle() { return title; }
+        public String getImageUrl() { return imageUrl; }
+        public BigDecimal getCurrentPrice() { return currentPrice; }
+        public Integer getBidCount() { return bidCount; }
+        public Integer getWatchCount() { return watchCount; }
+        public LocalDateTime getEndTime() { return endTime; }
+    }
+
+    // One client's stream: pending changes, keyed so newer ones replace older, guarded by the subscriber's monitor
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Map<String, TickerEvent> pending = new LinkedHashMap<>();
+        private boolean draining;
+        private boolean closed;
+        private long sendingSince;
+        private boolean writtenOff; // Its sender was replaced in the pool while this send blocked
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        synchronized boolean isStalled(long now, long timeoutMs) {
+            return sendingSince != 0 && now - sendingSince > timeoutMs;
+        }
+    }
+
+    // An event name and payload; built into an SSE event per send since builders are single use
+    private static final class TickerEvent {
+        private static final TickerEvent PING = new TickerEvent("ping", null);
+
+        private final String name;
+        private final Object data; // Null for comments
+
+        TickerEvent(String name, Object data) {
+            this.name = name;
+            this.data = data;
+        }
+    }
+
+    public static final class TickerChange {
+        private final String list;
+        private final TickerEntry auction;
+
+        public TickerChange(String list, TickerEntry auction) {
+            this.list = list;
+            this.auction = auction;
+        }
+
+        public String getList() { return list; }
+        public TickerEntry getAuction() { return auction; }
+    }
+}
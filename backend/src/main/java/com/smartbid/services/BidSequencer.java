@@ -0,0 +1,104 @@
+package com.smartbid.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * BidSequencer applies bids strictly in arrival order per auction
+ * Each auction id hashes onto one of a fixed set of single-threaded lanes with a
+ * bounded queue, so an auction only ever has one writer while different auctions
+ * spread across all cores
+ */
+@Component
+public class BidSequencer {
+
+    private static final Logger logger = LoggerFactory.getLogger(BidSequencer.class);
+
+    @Value("${smartbid.bidding.sequencer.lanes:0}")
+    private int laneCount;
+
+    @Value("${smartbid.bidding.sequencer.queue-capacity:4096}")
+    private int queueCapacity;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int connectionPoolSize;
+
+    @Value("${smartbid.settlement.max-db-concurrency:4}")
+    private int settlementConnections;
+
+    private ExecutorService[] lanes;
+
+    @PostConstruct
+    public void start() {
+        int size = laneCount > 0 ? laneCount : Runtime.getRuntime().availableProcessors();
+        lanes = new ExecutorService[size];
+        for (int i = 0; i < size; i++) {
+            String threadName = "bid-lane-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, threadName);
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        }
+        logger.info("Bid sequencer started with {} lanes", size);
+
+        // Every lane and settlement batch can hold a connection while the write-behind flusher and
+        // the pooled bid id fetch each need one of their own
+        int connectionsNeeded = size + settlementConnections + 2;
+        if (connectionPoolSize < connectionsNeeded) {
+            logger.warn("Connection pool of {} is below the {} that bid lanes, settlement and write-behind can hold at once",
+                connectionPoolSize, connectionsNeeded);
+        }
+    }
+
+    /**
+     * Run a task on the lane owning this auction
+     */
+    public <T> CompletableFuture<T> submit(Long auctionId, Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            laneFor(auctionId).execute(() -> {
+                try {
+                    future.complete(task.get());
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warn("Bid lane for auction {} is full, rejecting bid", auctionId);
+            future.completeExceptionally(new IllegalStateException("Bidding is busy on this auction, please retry"));
+        }
+        return future;
+    }
+
+    private ExecutorService laneFor(Long auctionId) {
+        return lanes[Math.floorMod(Long.hashCode(auctionId), lanes.length)];
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        for (ExecutorService lane : lanes) {
+            if (!lane.awaitTermination(10, TimeUnit.SECONDS)) {
+                lane.shutdownNow();
+            }
+        }
+    }
+}
@@ -6,15 +6,26 @@ import com.smartbid.models.Bid.BidStatus;
 import com.smartbid.models.User;
 import com.smartbid.repositories.AuctionRepository;
 import com.smartbid.repositories.BidRepository;
+import com.smartbid.repositories.BidSummary;
+import com.smartbid.repositories.UserRepository;
+import com.smartbid.services.AuctionOrderBook.BidEntry;
+import com.smartbid.services.BidWriteBehind.BidWrite;
+import com.smartbid.services.ProxyBiddingEngine.Resolution;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 @Service
 @Transactional
@@ -30,67 +41,140 @@ public class BidService {
     private NotificationService notificationService;
 
     @Autowired
-    private UserService userService;
-
-    // Place a bid
-    public Bid placeBid(Long auctionId, BigDecimal bidAmount, User bidder) {
-        // Get auction
-        Optional<Auction> auctionOpt = auctionRepository.findById(auctionId);
-        if (!auctionOpt.isPresent()) {
-            throw new IllegalArgumentException("Auction not found");
-        }
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderBookService orderBookService;
+
+    @Autowired
+    private BidSequencer bidSequencer;
+
+    @Autowired
+    private ProxyBiddingEngine proxyBiddingEngine;
+
+    @Autowired
+    private BidWriteBehind bidWriteBehind;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AuctionPricePublisher auctionPricePublisher;
+
+    @Autowired
+    private AuctionTickerService auctionTickerService;
+
+    @Autowired
+    private PriceAlertIndex priceAlertIndex;
 
-        Auction auction = auctionOpt.get();
+    @Autowired
+    private AuctionFacetIndex auctionFacetIndex;
+
+    @Autowired
+    private AuctionDetailCache auctionDetailCache;
+
+    // Place a bid through the auction's sequencer lane, completing once it is durable
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<Bid> submitBid(Long auctionId, BigDecimal bidAmount, User bidder) {
+        return bidSequencer.submit(auctionId, () -> {
+            // Warm the book before taking a connection, a cold load waits for the write-behind
+            orderBookService.getOrderBook(auctionId);
+            return transactionTemplate.execute(status -> placeBid(auctionId, bidAmount, bidder));
+        }).thenCompose(Function.identity());
+    }
+
+    // Place a bid; the returned future completes when its write-behind batch commits
+    public CompletableFuture<Bid> placeBid(Long auctionId, BigDecimal bidAmount, User bidder) {
+        // The book carries the auction snapshot, so a warm book needs no database read
+        AuctionOrderBook orderBook = orderBookService.getOrderBook(auctionId)
+            .orElseThrow(() -> new IllegalArgumentException("Auction not found"));
 
-        // Validate bid
-        validateBid(auction, bidAmount, bidder);
+        synchronized (orderBook) {
+            // Read under the lock, a close marks the snapshot ended before it releases the book
+            Auction auction = orderBook.getAuction();
+            // Validate bid against the in-memory order book
+            validateBid(auction, orderBook, bidAmount, bidder);
 
-        // Get current highest bid
-        Optional<Bid> currentHighestBidOpt = bidRepository.findHighestBidByAuction(auctionId);
+            BidWrite write = acceptBid(auction, orderBook, bidAmount, null, Bid.BidType.MANUAL, bidder);
+
+            // Update user's bidding statistics (credit score factor) in the same batch
+            write.credit(bidder.getId(), bidAmount);
+
+            // Send bid placed notification
+            Bid newBid = write.getResult();
+            write.afterCommit(() -> notificationService.sendBidPlacedNotification(bidder, auction, newBid));
+
+            return submitWrite(write);
+        }
+    }
+
+    // Resolve a validated bid against standing proxies and apply it to the book, returning the pending write
+    private BidWrite acceptBid(Auction auction, AuctionOrderBook orderBook, BigDecimal bidAmount,
+                               BigDecimal maxBidAmount, Bid.BidType type, User bidder) {
+        Resolution resolution = proxyBiddingEngine.resolve(orderBook, bidder.getId(), bidAmount, maxBidAmount);
 
-        // Create new bid
         Bid newBid = new Bid();
         newBid.setAuction(auction);
         newBid.setUser(bidder);
-        newBid.setBidAmount(bidAmount);
-        newBid.setStatus(BidStatus.ACTIVE);
-        newBid.setType(Bid.BidType.MANUAL);
+        newBid.setBidAmount(resolution.getChallengerAmount());
+        newBid.setMaxBidAmount(maxBidAmount);
+        newBid.setStatus(resolution.isChallengerWins() ? BidStatus.WINNING : BidStatus.OUTBID);
+        newBid.setType(type);
+        newBid.setCreatedAt(LocalDateTime.now());
 
-        // Save the bid
-        newBid = bidRepository.save(newBid);
+        // Ids come from the pooled sequence so the insert can join a JDBC batch
+        bidWriteBehind.assignId(newBid);
 
-        // Update auction current price and bid count
-        auction.setCurrentPrice(bidAmount);
-        auction.incrementBidCount();
-        auctionRepository.save(auction);
+        BidWrite write = new BidWrite(auction.getId(), newBid, newBid).price(resolution.getPrice())
+            .leader(resolution.isChallengerWins() ? newBid.getId() : resolution.getDefender().orElseThrow().getBidId());
 
-        // Update previous highest bid to OUTBID if exists
-        if (currentHighestBidOpt.isPresent()) {
-            Bid previousHighestBid = currentHighestBidOpt.get();
-            if (!previousHighestBid.getUser().getId().equals(bidder.getId())) {
-                previousHighestBid.setStatus(BidStatus.OUTBID);
-                bidRepository.save(previousHighestBid);
+        if (resolution.isChallengerWins()) {
+            // A pending outbid for the new leader is stale
+            write.afterCommit(() -> notificationService.cancelOutbidNotification(bidder.getId(), auction.getId()));
+
+            // Previous leader and any exhausted proxies are now outbid
+            for (BidEntry displaced : orderBook.accept(BidEntry.of(newBid))) {
+                write.status(displaced.getBidId(), BidStatus.OUTBID);
 
                 // Send outbid notification
-                notificationService.sendOutbidNotification(previousHighestBid.getUser(), auction, newBid);
+                User outbidUser = userRepository.getReferenceById(displaced.getUserId());
+                write.afterCommit(() -> notificationService.sendOutbidNotification(outbidUser, auction, newBid));
             }
+        } else {
+            // Standing proxy climbs to the new price and keeps the lead
+            BidEntry defender = resolution.getDefender().orElseThrow();
+            write.amount(defender.getBidId(), resolution.getPrice());
+            orderBook.defend(BidEntry.of(newBid), defender.withAmount(resolution.getPrice()));
+
+            Bid defendingBid = new Bid(resolution.getPrice(),
+                userRepository.getReferenceById(defender.getUserId()), auction);
+            defendingBid.setId(defender.getBidId());
+            write.afterCommit(() -> notificationService.sendOutbidNotification(bidder, auction, defendingBid));
         }
 
-        // Update bid status to WINNING (highest bid)
-        newBid.setStatus(BidStatus.WINNING);
-        bidRepository.save(newBid);
+        // Push the new price to subscribers once the bid is durable
+        AuctionPriceChangedEvent priceChanged = AuctionPriceChangedEvent.of(orderBook, auction.getEndTime());
+        write.afterCommit(() -> auctionPricePublisher.publish(priceChanged));
+        write.afterCommit(() -> auctionTickerService.onPriceChanged(priceChanged));
+        write.afterCommit(() -> priceAlertIndex.onPriceChanged(auction.getId(), auction.getTitle(),
+                                                                priceChanged.getCurrentPrice()));
+        write.afterCommit(() -> auctionFacetIndex.updatePrice(auction.getId(), priceChanged.getCurrentPrice()));
+        write.afterCommit(() -> auctionDetailCache.invalidate(auction.getId()));
 
-        // Send bid placed notification
-        notificationService.sendBidPlacedNotification(bidder, auction, newBid);
-
-        // Update user's bidding statistics (credit score factor)
-        userService.updateBiddingStatistics(bidder.getId(), bidAmount, true);
+        return write;
+    }
 
-        return newBid;
+    // Hand a write to the write-behind stage; if it never lands the book is ahead of the database
+    private CompletableFuture<Bid> submitWrite(BidWrite write) {
+        return bidWriteBehind.submit(write).whenComplete((bid, e) -> {
+            if (e != null) {
+                orderBookService.evict(write.getAuctionId());
+            }
+        });
     }
 
     // Validate bid
-    private void validateBid(Auction auction, BigDecimal bidAmount, User bidder) {
+    private void validateBid(Auction auction, AuctionOrderBook orderBook, BigDecimal bidAmount, User bidder) {
         // Check if auction is active
         if (!auction.isActive()) {
             throw new IllegalArgumentException("Auction is not active");
@@ -102,7 +186,7 @@ public class BidService {
         }
 
         // Check minimum bid amount
-        BigDecimal minimumBid = auction.getMinimumNextBid();
+        BigDecimal minimumBid = orderBook.getMinimumNextBid();
         if (bidAmount.compareTo(minimumBid) < 0) {
             throw new IllegalArgumentException(
                 String.format("Bid must be at least $%.2f", minimumBid));
@@ -127,20 +211,80 @@ public class BidService {
 
     // Get bids by auction
     @Transactional(readOnly = true)
-    public Page<Bid> getBidsByAuction(Long auctionId, Pageable pageable) {
-        return bidRepository.findByAuctionIdOrderByBidAmountDescCreatedAtDesc(auctionId, pageable);
+    public Page<BidSummary> getBidsByAuction(Long auctionId, Pageable pageable) {
+        return bidRepository.findSummariesByAuction(auctionId, pageable);
     }
 
     // Get bids by user
     @Transactional(readOnly = true)
-    public Page<Bid> getBidsByUser(Long userId, Pageable pageable) {
-        return bidRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
+    public Page<BidSummary> getBidsByUser(Long userId, Pageable pageable) {
+        return bidRepository.findSummariesByBidder(userId, pageable);
+    }
+
+    // Get bids by auction one keyset slice at a time, highest first; counting is opt-in
+    @Transactional(readOnly = true)
+    public CursorPage<BidSummary> getBidsByAuction(Long auctionId, String cursor, int size, boolean includeCount) {
+        Pageable limit = CursorPage.limit(size);
+        List<BidSummary> bids;
+        if (cursor == null) {
+            bids = bidRepository.findAuctionBidsFirst(auctionId, limit);
+        } else {
+            String[] keys = CursorPage.decodeCursor(cursor, 3);
+            try {
+                bids = bidRepository.findAuctionBidsAfter(auctionId, new BigDecimal(keys[0]),
+                    LocalDateTime.parse(keys[1]), Long.valueOf(keys[2]), limit);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+        Long total = includeCount ? bidRepository.countByAuctionId(auctionId) : null;
+        return CursorPage.of(bids, size,
+            last -> CursorPage.encodeCursor(last.getBidAmount().toPlainString(), last.getCreatedAt(), last.getId()), total);
     }
 
-    // Get highest bid for auction
+    // Get bids by user one keyset slice at a time, newest first; counting is opt-in
     @Transactional(readOnly = true)
+    public CursorPage<BidSummary> getBidsByUser(Long userId, String cursor, int size, boolean includeCount) {
+        Pageable limit = CursorPage.limit(size);
+        List<BidSummary> bids;
+        if (cursor == null) {
+            bids = bidRepository.findUserBidsFirst(userId, limit);
+        } else {
+            String[] keys = CursorPage.decodeCursor(cursor, 2);
+            try {
+                bids = bidRepository.findUserBidsAfter(userId, LocalDateTime.parse(keys[0]), Long.valueOf(keys[1]), limit);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+        Long total = includeCount ? bidRepository.countByBidderId(userId) : null;
+        return CursorPage.of(bids, size, last -> CursorPage.encodeCursor(last.getCreatedAt(), last.getId()), total);
+    }
+
+    // Get highest bid for auction, answered from the book since the bid may not be flushed yet
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<Bid> getHighestBidForAuction(Long auctionId) {
-        return bidRepository.findHighestBidByAuction(auctionId);
+        return orderBookService.getOrderBook(auctionId)
+            .flatMap(AuctionOrderBook::getBest)
+            .map(best -> toBid(best, userRepository.getReferenceById(best.getUserId()),
+                               auctionRepository.getReferenceById(auctionId), BidStatus.WINNING));
+    }
+
+    // Rebuild a bid from its order book entry
+    private Bid toBid(BidEntry entry, User bidder, Auction auction, BidStatus status) {
+        Bid bid = new Bid(entry.getAmount(), bidder, auction);
+        bid.setId(entry.getBidId());
+        bid.setMaxBidAmount(entry.getMaxAmount());
+        bid.setType(entry.isProxy() ? Bid.BidType.PROXY : Bid.BidType.MANUAL);
+        bid.setStatus(status);
+        bid.setCreatedAt(entry.getPlacedAt());
+        return bid;
+    }
+
+    // Get minimum acceptable next bid for auction; no transaction, so a cold book never waits holding a connection
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<BigDecimal> getMinimumNextBid(Long auctionId) {
+        return orderBookService.getOrderBook(auctionId).map(AuctionOrderBook::getMinimumNextBid);
     }
 
     // Get user's highest bid for auction
@@ -151,7 +295,7 @@ public class BidService {
 
     // Get winning bids for user
     @Transactional(readOnly = true)
-    public Page<Bid> getWinningBidsForUser(Long userId, Pageable pageable) {
+    public Page<BidSummary> getWinningBidsForUser(Long userId, Pageable pageable) {
         return bidRepository.findWinningBidsByUser(userId, pageable);
     }
 
@@ -167,52 +311,70 @@ public class BidService {
         return bidRepository.hasUserBidOnAuction(auctionId, userId);
     }
 
-    // Retract bid (only if auction hasn't ended and user has valid reason)
-    public Bid retractBid(Long bidId, User user, String reason) {
-        Optional<Bid> bidOpt = bidRepository.findById(bidId);
+    // Retract a bid through the auction's sequencer lane, completing once the retraction is durable
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<Bid> submitRetraction(Long bidId, User user, String reason) {
+        Optional<Bid> bidOpt = bidRepository.findWithAuctionById(bidId);
         if (!bidOpt.isPresent()) {
-            throw new IllegalArgumentException("Bid not found");
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Bid not found"));
         }
 
         Bid bid = bidOpt.get();
+        return bidSequencer.submit(bid.getAuction().getId(), () -> retractBid(bid, user, reason))
+            .thenCompose(Function.identity());
+    }
 
+    // Retract bid (only if auction hasn't ended and user has valid reason); runs on the auction's lane
+    private CompletableFuture<Bid> retractBid(Bid bid, User user, String reason) {
         // Check ownership
         if (!bid.getUser().getId().equals(user.getId())) {
             throw new IllegalArgumentException("You can only retract your own bids");
         }
 
-        // Check if auction is still active
-        if (!bid.getAuction().isActive()) {
-            throw new IllegalArgumentException("Cannot retract bid from inactive auction");
+        if (!bid.isActive() && bid.getStatus() != BidStatus.OUTBID) {
+            throw new IllegalArgumentException("Bid can no longer be retracted");
         }
 
-        // Check if this is the highest bid
-        Optional<Bid> highestBidOpt = bidRepository.findHighestBidByAuction(bid.getAuction().getId());
-        if (highestBidOpt.isPresent() && highestBidOpt.get().getId().equals(bidId)) {
-            // Find second highest bid and make it the winner
-            Optional<Bid> secondHighestOpt = bidRepository.findSecondHighestBid(
-                bid.getAuction().getId(), bid.getBidAmount());
-            
-            if (secondHighestOpt.isPresent()) {
-                Bid secondHighest = secondHighestOpt.get();
-                secondHighest.setStatus(BidStatus.WINNING);
-                bidRepository.save(secondHighest);
-                
-                // Update auction current price
-                Auction auction = bid.getAuction();
-                auction.setCurrentPrice(secondHighest.getBidAmount());
-                auctionRepository.save(auction);
-            }
-        }
+        Long auctionId = bid.getAuction().getId();
+        AuctionOrderBook orderBook = orderBookService.getOrderBook(auctionId)
+            .orElseThrow(() -> new IllegalArgumentException("Auction not found"));
 
-        // Update bid status
-        bid.setStatus(BidStatus.RETRACTED);
-        bid.setNotes(reason);
+        synchronized (orderBook) {
+            // Read under the lock, a close marks the snapshot ended before it releases the book
+            Auction auction = orderBook.getAuction();
+            // Check if auction is still active
+            if (!auction.isActive()) {
+                throw new IllegalArgumentException("Cannot retract bid from inactive auction");
+            }
 
-        // Penalize user's credit score for bid retraction
-        userService.penalizeForBidRetraction(user.getId());
+            bid.setStatus(BidStatus.RETRACTED);
+            bid.setNotes(reason);
+
+            // Penalize user's credit score for bid retraction in the same batch
+            BidWrite write = new BidWrite(auctionId, null, bid)
+                .status(bid.getId(), BidStatus.RETRACTED)
+                .notes(bid.getId(), reason)
+                .penalize(user.getId());
+
+            // A retracted leader promotes the runner-up and the price falls back to its amount
+            BigDecimal previousPrice = orderBook.getCurrentPrice();
+            boolean wasLeading = orderBook.getBest().filter(best -> best.getBidId().equals(bid.getId())).isPresent();
+            Optional<BidEntry> promoted = orderBook.retract(bid.getId());
+            if (wasLeading) {
+                write.lowerPrice(previousPrice, orderBook.getCurrentPrice());
+                promoted.ifPresent(next -> write.status(next.getBidId(), BidStatus.WINNING).leader(next.getBidId()));
+
+                AuctionPriceChangedEvent priceChanged = AuctionPriceChangedEvent.of(orderBook, auction.getEndTime());
+                write.afterCommit(() -> auctionPricePublisher.publish(priceChanged));
+                write.afterCommit(() -> auctionTickerService.onPriceChanged(priceChanged));
+                write.afterCommit(() -> auctionFacetIndex.updatePrice(auctionId, priceChanged.getCurrentPrice()));
+            }
+            write.afterCommit(() -> auctionDetailCache.invalidate(auctionId));
 
-        return bidRepository.save(bid);
+            // Only the database knows the next runner-up; the lane reloads the book once this write lands
+            orderBookService.evict(auctionId);
+            return submitWrite(write);
+        }
     }
 
     // Get bid statistics for user
@@ -241,74 +403,42 @@ public class BidService {
         return bidRepository.findActiveAuctionBidsByUser(userId);
     }
 
-    // Auto-bid functionality (proxy bidding)
-    public Bid placeProxyBid(Long auctionId, BigDecimal maxBidAmount, User bidder) {
-        Optional<Auction> auctionOpt = auctionRepository.findById(auctionId);
-        if (!auctionOpt.isPresent()) {
-            throw new IllegalArgumentException("Auction not found");
-        }
-
-        Auction auction = auctionOpt.get();
-        
-        // Validate
-        validateBid(auction, maxBidAmount, bidder);
-
-        // Create proxy bid
-        Bid proxyBid = new Bid();
-        proxyBid.setAuction(auction);
-        proxyBid.setUser(bidder);
-        proxyBid.setMaxBidAmount(maxBidAmount);
-        proxyBid.setType(Bid.BidType.PROXY);
-        proxyBid.setStatus(BidStatus.ACTIVE);
-
-        // Calculate actual bid amount (just enough to win)
-        Optional<Bid> currentHighestOpt = bidRepository.findHighestBidByAuction(auctionId);
-        BigDecimal actualBidAmount;
-        
-        if (currentHighestOpt.isPresent()) {
-            actualBidAmount = currentHighestOpt.get().getBidAmount().add(new BigDecimal("1.00"));
-            if (actualBidAmount.compareTo(maxBidAmount) > 0) {
-                actualBidAmount = maxBidAmount;
-            }
-        } else {
-            actualBidAmount = auction.getCurrentPrice().add(new BigDecimal("1.00"));
-        }
-
-        proxyBid.setBidAmount(actualBidAmount);
-        proxyBid = bidRepository.save(proxyBid);
-
-        // Update auction
-        auction.setCurrentPrice(actualBidAmount);
-        auction.incrementBidCount();
-        auctionRepository.save(auction);
-
-        return proxyBid;
+    // Place a proxy bid through the auction's sequencer lane, completing once it is durable
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<Bid> submitProxyBid(Long auctionId, BigDecimal maxBidAmount, User bidder) {
+        return bidSequencer.submit(auctionId, () -> {
+            orderBookService.getOrderBook(auctionId);
+            return transactionTemplate.execute(status -> placeProxyBid(auctionId, maxBidAmount, bidder));
+        }).thenCompose(Function.identity());
     }
 
-    // Process proxy bids when new regular bid is placed
-    public void processProxyBids(Long auctionId, BigDecimal newBidAmount) {
-        List<Bid> proxyBids = bidRepository.findByAuctionIdAndStatusOrderByBidAmountDesc(
-            auctionId, BidStatus.ACTIVE);
-        
-        for (Bid proxyBid : proxyBids) {
-            if (proxyBid.getType() == Bid.BidType.PROXY && 
-                proxyBid.getMaxBidAmount().compareTo(newBidAmount) > 0) {
-                
-                // Auto-increment proxy bid
-                BigDecimal newProxyBid = newBidAmount.add(new BigDecimal("1.00"));
-                if (newProxyBid.compareTo(proxyBid.getMaxBidAmount()) <= 0) {
-                    proxyBid.setBidAmount(newProxyBid);
-                    bidRepository.save(proxyBid);
-                    
-                    // Update auction current price
-                    Optional<Auction> auctionOpt = auctionRepository.findById(auctionId);
-                    if (auctionOpt.isPresent()) {
-                        Auction auction = auctionOpt.get();
-                        auction.setCurrentPrice(newProxyBid);
-                        auctionRepository.save(auction);
-                    }
+    // Auto-bid functionality (proxy bidding)
+    public CompletableFuture<Bid> placeProxyBid(Long auctionId, BigDecimal maxBidAmount, User bidder) {
+        AuctionOrderBook orderBook = orderBookService.getOrderBook(auctionId)
+            .orElseThrow(() -> new IllegalArgumentException("Auction not found"));
+
+        synchronized (orderBook) {
+            // Read under the lock, a close marks the snapshot ended before it releases the book
+            Auction auction = orderBook.getAuction();
+            // Validate
+            validateBid(auction, orderBook, maxBidAmount, bidder);
+
+            // Leading proxy raising its own ceiling does not move the price
+            Optional<BidEntry> ownProxy = orderBook.getBest()
+                .filter(best -> best.isProxy() && best.getUserId().equals(bidder.getId()));
+            if (ownProxy.isPresent()) {
+                BidEntry leading = ownProxy.get();
+                if (maxBidAmount.compareTo(leading.getCeiling()) <= 0) {
+                    throw new IllegalArgumentException("New maximum bid must be above your current maximum");
                 }
+                // The leading bid may still be queued for write-behind, so describe it from the book
+                Bid leadingBid = toBid(leading.withCeiling(maxBidAmount), bidder, auction, BidStatus.WINNING);
+                orderBook.raiseCeiling(leading.withCeiling(maxBidAmount));
+                return submitWrite(new BidWrite(auctionId, null, leadingBid).ceiling(leading.getBidId(), maxBidAmount));
             }
+
+            // The engine decides the actual bid amount (just enough to win)
+            return submitWrite(acceptBid(auction, orderBook, null, maxBidAmount, Bid.BidType.PROXY, bidder));
         }
     }
 
@@ -0,0 +1,381 @@
+package com.smartbid.services;
+
+import com.smartbid.models.Bid;
+import com.smartbid.models.Bid.BidStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BidWriteBehind persists accepted bids off the sequencer lanes with group commit
+ * Writes queue up for a few milliseconds and are committed together: one compare-and-set
+ * per auction, one JDBC batch of bid inserts and one batch per kind of bid update, all in a
+ * single transaction. Each caller's future completes only once its bid is durable.
+ * The compare-and-set guards the price and the same transaction demotes any other WINNING
+ * bid of the auction, so two nodes bidding on one auction cannot both leave a winner behind.
+ */
+@Component
+public class BidWriteBehind {
+
+    private static final Logger logger = LoggerFactory.getLogger(BidWriteBehind.class);
+
+    private static final String INSERT_BID_SQL =
+        "INSERT INTO bids (id, bidder_id, auction_id, bid_amount, max_bid_amount, status, type, is_suspicious, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_STATUS_SQL = "UPDATE bids SET status = ? WHERE id = ?";
+    private static final String UPDATE_AMOUNT_SQL = "UPDATE bids SET bid_amount = ? WHERE id = ?";
+    private static final String UPDATE_CEILING_SQL = "UPDATE bids SET max_bid_amount = ? WHERE id = ?";
+    private static final String UPDATE_NOTES_SQL = "UPDATE bids SET notes = ? WHERE id = ?";
+    // Another node with a stale book may have marked its own leader, so at most one WINNING row survives per auction
+    private static final String DEMOTE_LEADERS_SQL =
+        "UPDATE bids SET status = 'OUTBID' WHERE auction_id = ? AND status = 'WINNING' AND id <> ?";
+    // Compare-and-set the current price: only succeeds if the new price still beats the stored one
+    private static final String UPDATE_PRICE_SQL =
+        "UPDATE auctions SET current_price = ?, bid_count = COALESCE(bid_count, 0) + ?, updated_at = ? " +
+        "WHERE id = ? AND status = 'ACTIVE' AND COALESCE(current_price, 0) < ?";
+    // A retraction lowers the price, so it only applies if nobody moved the price since the book last saw it
+    private static final String RETRACT_PRICE_SQL =
+        "UPDATE auctions SET current_price = ?, bid_count = COALESCE(bid_count, 0) + ?, updated_at = ? " +
+        "WHERE id = ? AND status = 'ACTIVE' AND current_price = ?";
+
+    @Value("${smartbid.bidding.write-behind.flush-interval-ms:5}")
+    private long flushIntervalMs;
+
+    @Value("${smartbid.bidding.write-behind.max-batch-size:500}")
+    private int maxBatchSize;
+
+    @Value("${smartbid.bidding.write-behind.queue-capacity:20000}")
+    private int queueCapacity;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserService userService;
+
+    private BlockingQueue<BidWrite> queue;
+    // Latest queued write per auction; batches commit in queue order, so it lands after all earlier ones
+    private final Map<Long, CompletableFuture<Bid>> lastWriteByAuction = new ConcurrentHashMap<>();
+    private Thread flusher;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        flusher = new Thread(this::runFlusher, "bid-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // Let the flusher drain what is already queued before shutting down
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    /**
+     * Draw an id from Bid's pooled sequence so the row can be inserted later in a JDBC batch
+     * Must be called inside a transaction
+     */
+    public void assignId(Bid bid) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(Bid.class);
+        Object id = ((BeforeExecutionGenerator) persister.getGenerator()).generate(session, bid, null, EventType.INSERT);
+        bid.setId((Long) id);
+    }
+
+    /**
+     * Queue a write; the future completes once it is committed
+     */
+    public CompletableFuture<Bid> submit(BidWrite write) {
+        Long auctionId = write.getAuctionId();
+        CompletableFuture<Bid> ack = write.getAck();
+        lastWriteByAuction.put(auctionId, ack);
+        if (!queue.offer(write)) {
+            lastWriteByAuction.remove(auctionId, ack);
+            ack.completeExceptionally(new IllegalStateException("Bid persistence is saturated, please retry"));
+            return ack;
+        }
+        ack.whenComplete((bid, e) -> lastWriteByAuction.remove(auctionId, ack));
+        return ack;
+    }
+
+    /**
+     * Wait until everything queued so far for one auction has been committed
+     * Other auctions' writes are not waited on, so callers holding a connection only wait on
+     * batches that already hold theirs
+     */
+    public void awaitPendingWrites(Long auctionId) {
+        CompletableFuture<Bid> last = lastWriteByAuction.get(auctionId);
+        if (last != null) {
+            // A failed batch still counts as done, the caller reloads from whatever was committed
+            last.handle((bid, e) -> null).join();
+        }
+    }
+
+    private void runFlusher() {
+        List<BidWrite> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                BidWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Linger briefly so concurrent bids share one commit
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    BidWrite next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Unexpected failure in bid write-behind", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<BidWrite> batch) {
+        Set<Long> rejectedAuctions = new HashSet<>();
+        List<BidWrite> accepted = new ArrayList<>(batch.size());
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                rejectedAuctions.addAll(applyPriceUpdates(batch));
+                for (BidWrite write : batch) {
+                    if (!rejectedAuctions.contains(write.getAuctionId())) {
+                        accepted.add(write);
+                    }
+                }
+                insertBids(accepted);
+                updateBids(accepted);
+                demoteStaleLeaders(accepted);
+                for (BidWrite write : accepted) {
+                    if (write.creditUserId != null) {
+                        userService.updateBiddingStatistics(write.creditUserId, write.creditAmount, true);
+                    }
+                    if (write.penaltyUserId != null) {
+                        userService.penalizeForBidRetraction(write.penaltyUserId);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.error("Failed to persist batch of {} bids", batch.size(), e);
+            for (BidWrite write : batch) {
+                write.getAck().completeExceptionally(e);
+            }
+            return;
+        }
+
+        for (BidWrite write : batch) {
+            if (rejectedAuctions.contains(write.getAuctionId())) {
+                write.getAck().completeExceptionally(new IllegalArgumentException(write.expectedPrice != null
+                    ? "The auction price has changed, please refresh and try again"
+                    : "You have been outbid, please refresh and bid again"));
+                continue;
+            }
+            write.getAck().complete(write.getResult());
+            for (Runnable action : write.afterCommit) {
+                try {
+                    action.run();
+                } catch (RuntimeException e) {
+                    logger.warn("After-commit action failed for auction {}", write.getAuctionId(), e);
+                }
+            }
+        }
+    }
+
+    // One compare-and-set per auction over JDBC, since a JPQL bulk update would evict every cached auction;
+    // returns the auctions another writer has moved past
+    private Set<Long> applyPriceUpdates(List<BidWrite> batch) {
+        Map<Long, List<BidWrite>> byAuction = new LinkedHashMap<>();
+        for (BidWrite write : batch) {
+            if (write.price != null) {
+                byAuction.computeIfAbsent(write.getAuctionId(), id -> new ArrayList<>()).add(write);
+            }
+        }
+
+        Set<Long> rejected = new HashSet<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (Map.Entry<Long, List<BidWrite>> entry : byAuction.entrySet()) {
+            // Later writes were sequenced on the same lane, so only the first one's precondition needs checking
+            List<BidWrite> writes = entry.getValue();
+            BidWrite first = writes.get(0);
+            BigDecimal lastPrice = writes.get(writes.size() - 1).price;
+            int newBids = (int) writes.stream().filter(w -> w.bid != null).count();
+
+            int updated = first.expectedPrice != null
+                ? jdbcTemplate.update(RETRACT_PRICE_SQL, lastPrice, newBids, now, entry.getKey(), first.expectedPrice)
+                : jdbcTemplate.update(UPDATE_PRICE_SQL, lastPrice, newBids, now, entry.getKey(), first.price);
+            if (updated == 0) {
+                rejected.add(entry.getKey());
+            }
+        }
+        return rejected;
+    }
+
+    private void insertBids(List<BidWrite> writes) {
+        List<Object[]> rows = new ArrayList<>();
+        for (BidWrite write : writes) {
+            Bid bid = write.bid;
+            if (bid != null) {
+                rows.add(new Object[] {
+                    bid.getId(), bid.getBidder().getId(), write.getAuctionId(), bid.getBidAmount(),
+                    bid.getMaxBidAmount(), bid.getStatus().name(), bid.getType().name(),
+                    Boolean.TRUE.equals(bid.getIsSuspicious()), Timestamp.valueOf(bid.getCreatedAt())
+                });
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_BID_SQL, rows);
+        }
+    }
+
+    private void updateBids(List<BidWrite> writes) {
+        List<Object[]> statusRows = new ArrayList<>();
+        List<Object[]> amountRows = new ArrayList<>();
+        List<Object[]> ceilingRows = new ArrayList<>();
+        List<Object[]> notesRows = new ArrayList<>();
+        for (BidWrite write : writes) {
+            write.statusChanges.forEach((bidId, status) -> statusRows.add(new Object[] {status.name(), bidId}));
+            write.amountChanges.forEach((bidId, amount) -> amountRows.add(new Object[] {amount, bidId}));
+            write.ceilingChanges.forEach((bidId, ceiling) -> ceilingRows.add(new Object[] {ceiling, bidId}));
+            write.notesChanges.forEach((bidId, notes) -> notesRows.add(new Object[] {notes, bidId}));
+        }
+        if (!statusRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_STATUS_SQL, statusRows);
+        }
+        if (!amountRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_AMOUNT_SQL, amountRows);
+        }
+        if (!ceilingRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_CEILING_SQL, ceilingRows);
+        }
+        if (!notesRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_NOTES_SQL, notesRows);
+        }
+    }
+
+    // Demote every WINNING bid except the one each auction's last write leaves in the lead
+    private void demoteStaleLeaders(List<BidWrite> writes) {
+        Map<Long, Long> leaders = new LinkedHashMap<>();
+        for (BidWrite write : writes) {
+            if (write.leaderBidId != null) {
+                leaders.put(write.getAuctionId(), write.leaderBidId);
+            }
+        }
+        if (leaders.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(leaders.size());
+        leaders.forEach((auctionId, bidId) -> rows.add(new Object[] {auctionId, bidId}));
+        jdbcTemplate.batchUpdate(DEMOTE_LEADERS_SQL, rows);
+    }
+
+    /**
+     * Everything one accepted bid needs written, applied atomically with its batch
+     */
+    public static final class BidWrite {
+        private final Long auctionId;
+        private final Bid bid;      // New bid row, null when only existing bids change
+        private final Bid result;   // Returned to the caller once durable
+        private BigDecimal price;   // New auction price, null when the price does not move
+        private BigDecimal expectedPrice; // Price a retraction lowers from, null for bids
+        private Long creditUserId;
+        private BigDecimal creditAmount;
+        private Long penaltyUserId;
+        private Long leaderBidId;   // Bid leading the auction once this lands, null when the lead is unchanged
+        private final Map<Long, BidStatus> statusChanges = new LinkedHashMap<>();
+        private final Map<Long, BigDecimal> amountChanges = new LinkedHashMap<>();
+        private final Map<Long, BigDecimal> ceilingChanges = new LinkedHashMap<>();
+        private final Map<Long, String> notesChanges = new LinkedHashMap<>();
+        private final List<Runnable> afterCommit = new ArrayList<>();
+        private final CompletableFuture<Bid> ack = new CompletableFuture<>();
+
+        public BidWrite(Long auctionId, Bid bid, Bid result) {
+            this.auctionId = auctionId;
+            this.bid = bid;
+            this.result = result;
+        }
+
+        public BidWrite price(BigDecimal newPrice) { this.price = newPrice; return this; }
+
+        public BidWrite status(Long bidId, BidStatus status) { statusChanges.put(bidId, status); return this; }
+
+        public BidWrite amount(Long bidId, BigDecimal amount) { amountChanges.put(bidId, amount); return this; }
+
+        public BidWrite ceiling(Long bidId, BigDecimal ceiling) { ceilingChanges.put(bidId, ceiling); return this; }
+
+        public BidWrite notes(Long bidId, String notes) { notesChanges.put(bidId, notes); return this; }
+
+        // Lower the price after a retraction, only if it still stands at the expected price
+        public BidWrite lowerPrice(BigDecimal expected, BigDecimal newPrice) {
+            this.expectedPrice = expected;
+            this.price = newPrice;
+            return this;
+        }
+
+        public BidWrite penalize(Long userId) { this.penaltyUserId = userId; return this; }
+
+        public BidWrite leader(Long bidId) { this.leaderBidId = bidId; return this; }
+
+        public BidWrite credit(Long userId, BigDecimal amount) {
+            this.creditUserId = userId;
+            this.creditAmount = amount;
+            return this;
+        }
+
+        // Runs on the write-behind thread after commit, keep it cheap
+        public BidWrite afterCommit(Runnable action) { afterCommit.add(action); return this; }
+
+        public Long getAuctionId() { return auctionId; }
+        public Bid getResult() { return result; }
+        public CompletableFuture<Bid> getAck() { return ack; }
+    }
+}
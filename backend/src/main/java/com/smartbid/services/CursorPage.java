@@ -0,0 +1,86 @@
+package com.smartbid.services;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * CursorPage is one slice of a keyset-paginated listing
+ * The next cursor encodes the sort key of the last row, so fetching the following slice seeks
+ * straight to it in the index instead of skipping an offset. The total is only filled in
+ * when the caller asked for it, since counting is the one part that grows with the table.
+ */
+public class CursorPage<T> {
+
+    private static final String SEPARATOR = "|";
+
+    private final List<T> content;
+    private final String nextCursor;
+    private final Long totalElements;
+
+    public CursorPage(List<T> content, String nextCursor, Long totalElements) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.totalElements = totalElements;
+    }
+
+    public List<T> getContent() { return content; }
+    public String getNextCursor() { return nextCursor; }
+    public boolean isHasNext() { return nextCursor != null; }
+    public Long getTotalElements() { return totalElements; }
+
+    /**
+     * Row limit for a slice of the given size: one extra row tells whether another slice follows
+     */
+    public static Pageable limit(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        return PageRequest.of(0, size + 1);
+    }
+
+    /**
+     * Build a page from rows fetched with limit(size)
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, String> cursorOf, Long totalElements) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null, totalElements);
+        }
+        List<T> content = rows.subList(0, size);
+        return new CursorPage<>(content, cursorOf.apply(content.get(size - 1)), totalElements);
+    }
+
+    /**
+     * Encode sort key values into an opaque, URL-safe cursor
+     */
+    public static String encodeCursor(Object... keys) {
+        StringBuilder raw = new StringBuilder();
+        for (Object key : keys) {
+            if (raw.length() > 0) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(key);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor produced by encodeCursor with the given number of keys
+     */
+    public static String[] decodeCursor(String cursor, int keyCount) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] keys = raw.split("\\" + SEPARATOR, -1);
+            if (keys.length != keyCount) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return keys;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
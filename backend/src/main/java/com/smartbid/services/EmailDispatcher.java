@@ -0,0 +1,211 @@
+package com.smartbid.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EmailDispatcher sends email off the caller's thread
+ * Messages wait on a bounded queue; a few sender threads each drain a batch and deliver
+ * it over a single SMTP session (JavaMailSender.send with many messages). Failed messages
+ * are retried with exponential backoff, and a full queue drops rather than blocks.
+ */
+@Component
+public class EmailDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailDispatcher.class);
+
+    @Value("${smartbid.mail.dispatcher.queue-capacity:20000}")
+    private int queueCapacity;
+
+    @Value("${smartbid.mail.dispatcher.senders:2}")
+    private int senderCount;
+
+    @Value("${smartbid.mail.dispatcher.batch-size:50}")
+    private int batchSize;
+
+    @Value("${smartbid.mail.dispatcher.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${smartbid.mail.dispatcher.initial-backoff-ms:1000}")
+    private long initialBackoffMs;
+
+    @Value("${spring.mail.username:no-reply@smartbid.com}")
+    private String fromAddress;
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private BlockingQueue<OutgoingEmail> queue;
+    private List<Thread> senders;
+    private ScheduledExecutorService retryScheduler;
+    private volatile boolean running;
+    private Counter sentCounter;
+    private Counter retriedCounter;
+    private Counter failedCounter;
+    private Counter droppedCounter;
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "email-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("smartbid.mail.queue.size", queue, Collection::size)
+            .description("Emails waiting for an SMTP session")
+            .register(meterRegistry);
+        sentCounter = meterRegistry.counter("smartbid.mail.sent");
+        retriedCounter = meterRegistry.counter("smartbid.mail.retried");
+        failedCounter = meterRegistry.counter("smartbid.mail.failed");
+        droppedCounter = meterRegistry.counter("smartbid.mail.dropped");
+
+        running = true;
+        senders = new ArrayList<>(senderCount);
+        for (int i = 0; i < senderCount; i++) {
+            Thread sender = new Thread(this::runSender, "email-sender-" + i);
+            sender.setDaemon(true);
+            sender.start();
+            senders.add(sender);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        retryScheduler.shutdownNow();
+        for (Thread sender : senders) {
+            sender.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    /**
+     * Queue an email without blocking; returns false if it was dropped
+     */
+    public boolean send(String to, String subject, String body) {
+        if (to == null || to.isBlank()) {
+            return false;
+        }
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromAddress);
+        message.setTo(to);
+        message.setSubject(subject);
+        message.setText(body);
+        return enqueue(new OutgoingEmail(message, 1));
+    }
+
+    private boolean enqueue(OutgoingEmail email) {
+        if (queue.offer(email)) {
+            return true;
+        }
+        droppedCounter.increment();
+        logger.warn("Email queue full, dropping '{}' to {}", email.message.getSubject(), email.message.getTo());
+        return false;
+    }
+
+    private void runSender() {
+        List<OutgoingEmail> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                OutgoingEmail first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                deliver(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // One SMTP session for the whole batch; only the messages that failed are retried
+    private void deliver(List<OutgoingEmail> batch) {
+        Map<SimpleMailMessage, OutgoingEmail> byMessage = new IdentityHashMap<>();
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            messages[i] = batch.get(i).message;
+            byMessage.put(messages[i], batch.get(i));
+        }
+
+        try {
+            mailSender.send(messages);
+            sentCounter.increment(messages.length);
+        } catch (MailSendException e) {
+            Map<Object, Exception> failed = e.getFailedMessages();
+            if (failed.isEmpty()) {
+                // Connection-level failure, nothing went out
+                batch.forEach(email -> retry(email, e));
+                return;
+            }
+            sentCounter.increment(messages.length - failed.size());
+            failed.forEach((message, cause) -> {
+                OutgoingEmail email = byMessage.get(message);
+                if (email != null) {
+                    retry(email, cause);
+                }
+            });
+        } catch (MailException e) {
+            batch.forEach(email -> retry(email, e));
+        }
+    }
+
+    private void retry(OutgoingEmail email, Exception cause) {
+        if (email.attempt >= maxAttempts) {
+            failedCounter.increment();
+            logger.error("Giving up on '{}' to {} after {} attempts",
+                         email.message.getSubject(), email.message.getTo(), email.attempt, cause);
+            return;
+        }
+        retriedCounter.increment();
+        long backoffMs = initialBackoffMs << (email.attempt - 1);
+        try {
+            retryScheduler.schedule(() -> enqueue(new OutgoingEmail(email.message, email.attempt + 1)),
+                                    backoffMs, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            failedCounter.increment();
+            logger.warn("Could not schedule retry for '{}' to {}", email.message.getSubject(), email.message.getTo());
+        }
+    }
+
+    private static final class OutgoingEmail {
+        private final SimpleMailMessage message;
+        private final int attempt;
+
+        OutgoingEmail(SimpleMailMessage message, int attempt) {
+            this.message = message;
+            this.attempt = attempt;
+        }
+    }
+}
@@ -1,105 +1,117 @@
 package com.smartbid.services;
 
 import com.smartbid.models.User;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * EmailService handles all email notifications
- * Currently uses logging for demonstration - can be extended with actual email providers
+ * Messages are composed here and delivered asynchronously by the EmailDispatcher
  */
 @Service
 public class EmailService {
 
     private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
 
+    @Autowired
+    private EmailDispatcher emailDispatcher;
+
     /**
      * Send verification email to new users
      */
     public void sendVerificationEmail(User user) {
-        logger.info("Sending verification email to user: {} with token: {}", 
-                   user.getEmail(), user.getVerificationToken());
-        // TODO: Implement actual email sending (SendGrid, AWS SES, etc.)
+        send(user, "Verify your SmartBid account",
+             String.format("Hi %s,%n%nPlease verify your account with this token: %s",
+                           user.getFirstName(), user.getVerificationToken()));
     }
 
     /**
      * Send password reset email
      */
     public void sendPasswordResetEmail(User user, String resetToken) {
-        logger.info("Sending password reset email to user: {} with token: {}", 
-                   user.getEmail(), resetToken);
-        // TODO: Implement actual email sending
+        send(user, "Reset your SmartBid password",
+             String.format("Hi %s,%n%nUse this token to reset your password within the next hour: %s",
+                           user.getFirstName(), resetToken));
     }
 
     /**
      * Send account suspension notification
      */
     public void sendAccountSuspensionEmail(User user, String reason) {
-        logger.warn("Sending account suspension email to user: {} for reason: {}", 
-                   user.getEmail(), reason);
-        // TODO: Implement actual email sending
+        logger.warn("Sending account suspension email to user: {} for reason: {}", user.getEmail(), reason);
+        send(user, "Your SmartBid account has been suspended",
+             String.format("Hi %s,%n%nYour account has been suspended for the following reason: %s",
+                           user.getFirstName(), reason));
     }
 
     /**
      * Send bid retraction penalty notification
      */
     public void sendBidRetractionPenaltyEmail(User user) {
-        logger.warn("Sending bid retraction penalty email to user: {}", user.getEmail());
-        // TODO: Implement actual email sending
+        send(user, "Bid retraction penalty applied",
+             String.format("Hi %s,%n%nA bid retraction has lowered your SmartBid credit score.",
+                           user.getFirstName()));
     }
 
     /**
      * Send auction won notification
      */
     public void sendAuctionWonEmail(User user, String auctionTitle, String amount) {
-        logger.info("Sending auction won email to user: {} for auction: {} amount: {}", 
-                   user.getEmail(), auctionTitle, amount);
-        // TODO: Implement actual email sending
+        send(user, "You won: " + auctionTitle,
+             String.format("Congratulations %s!%n%nYou won '%s' for %s.", user.getFirstName(), auctionTitle, amount));
     }
 
     /**
      * Send auction lost notification
      */
     public void sendAuctionLostEmail(User user, String auctionTitle) {
-        logger.info("Sending auction lost email to user: {} for auction: {}", 
-                   user.getEmail(), auctionTitle);
-        // TODO: Implement actual email sending
+        send(user, "Auction ended: " + auctionTitle,
+             String.format("Hi %s,%n%nThe auction '%s' has ended and your bid did not win.",
+                           user.getFirstName(), auctionTitle));
     }
 
     /**
      * Send outbid notification
      */
     public void sendOutbidEmail(User user, String auctionTitle, String newHighBid) {
-        logger.info("Sending outbid email to user: {} for auction: {} new high bid: {}", 
-                   user.getEmail(), auctionTitle, newHighBid);
-        // TODO: Implement actual email sending
+        send(user, "You have been outbid on " + auctionTitle,
+             String.format("Hi %s,%n%nSomeone outbid you on '%s'. The highest bid is now %s.",
+                           user.getFirstName(), auctionTitle, newHighBid));
     }
 
     /**
      * Send auction ending soon notification
      */
     public void sendAuctionEndingSoonEmail(User user, String auctionTitle, String timeLeft) {
-        logger.info("Sending auction ending soon email to user: {} for auction: {} time left: {}", 
-                   user.getEmail(), auctionTitle, timeLeft);
-        // TODO: Implement actual email sending
+        send(user, "Ending soon: " + auctionTitle,
+             String.format("Hi %s,%n%nThe auction '%s' ends in %s.", user.getFirstName(), auctionTitle, timeLeft));
     }
 
     /**
      * Send payment reminder
      */
     public void sendPaymentReminderEmail(User user, String auctionTitle, String amount, String dueDate) {
-        logger.warn("Sending payment reminder email to user: {} for auction: {} amount: {} due: {}", 
-                   user.getEmail(), auctionTitle, amount, dueDate);
-        // TODO: Implement actual email sending
+        send(user, "Payment reminder: " + auctionTitle,
+             String.format("Hi %s,%n%nPayment of %s for '%s' is due by %s.",
+                           user.getFirstName(), amount, auctionTitle, dueDate));
     }
 
     /**
      * Send payment confirmation
      */
     public void sendPaymentConfirmationEmail(User user, String auctionTitle, String amount, String paymentMethod) {
-        logger.info("Sending payment confirmation email to user: {} for auction: {} amount: {} method: {}", 
-                   user.getEmail(), auctionTitle, amount, paymentMethod);
-        // TODO: Implement actual email sending
+        send(user, "Payment received: " + auctionTitle,
+             String.format("Hi %s,%n%nWe received your payment of %s for '%s' via %s.",
+                           user.getFirstName(), amount, auctionTitle, paymentMethod));
+    }
+
+    /**
+     * Helper method to hand a message to the dispatcher
+     */
+    private void send(User user, String subject, String body) {
+        logger.debug("Queueing email '{}' to user {}", subject, user.getId());
+        emailDispatcher.send(user.getEmail(), subject, body);
     }
 }
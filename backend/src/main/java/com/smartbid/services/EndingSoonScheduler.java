@@ -0,0 +1,186 @@
+package com.smartbid.services;
+
+import com.smartbid.models.Auction;
+import com.smartbid.models.Auction.AuctionStatus;
+import com.smartbid.models.User;
+import com.smartbid.repositories.AuctionRepository;
+import com.smartbid.repositories.AuctionWatchRepository;
+import com.smartbid.repositories.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * EndingSoonScheduler sends "ending soon" notifications to the watchers of each auction
+ * Open auctions sit in buckets keyed by the minute their notification is due (end time minus
+ * the lead time). A periodic check pops the buckets that have come due and notifies the
+ * opted-in watchers of those auctions in batches, so the work scales with the auctions that
+ * are actually ending rather than with the number of users.
+ */
+@Component
+public class EndingSoonScheduler {
+
+    private static final long MINUTE_MS = 60_000L;
+
+    @Value("${smartbid.notifications.ending-soon.lead-minutes:60}")
+    private long leadMinutes;
+
+    @Value("${smartbid.notifications.ending-soon.batch-size:500}")
+    private int batchSize;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private AuctionWatchRepository auctionWatchRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WatcherIndex watcherIndex;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Guarded by this; scheduling is rare next to the periodic check
+    private final NavigableMap<Long, Set<Long>> buckets = new TreeMap<>();
+    private final Map<Long, Long> bucketByAuction = new HashMap<>();
+    private final Set<Long> notified = new HashSet<>();
+    private Counter notifiedCounter;
+
+    @PostConstruct
+    public void init() {
+        meterRegistry.gauge("smartbid.notifications.ending-soon.scheduled", bucketByAuction, Map::size);
+        notifiedCounter = meterRegistry.counter("smartbid.notifications.ending-soon.sent");
+    }
+
+    /**
+     * Put an auction in the bucket for its end time, moving it if the end time changed
+     */
+    public synchronized void schedule(Long auctionId, LocalDateTime endTime) {
+        if (notified.contains(auctionId)) {
+            return;
+        }
+        long minute = Math.floorDiv(endTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                                    - leadMinutes * MINUTE_MS, MINUTE_MS);
+        Long previous = bucketByAuction.put(auctionId, minute);
+        if (previous != null && previous != minute) {
+            removeFromBucket(previous, auctionId);
+        }
+        buckets.computeIfAbsent(minute, m -> new HashSet<>()).add(auctionId);
+    }
+
+    /**
+     * Forget an auction that is over or no longer open
+     */
+    public synchronized void cancel(Long auctionId) {
+        notified.remove(auctionId);
+        Long minute = bucketByAuction.remove(auctionId);
+        if (minute != null) {
+            removeFromBucket(minute, auctionId);
+        }
+    }
+
+    // Pop every bucket that has come due and notify those auctions' watchers
+    @Scheduled(fixedDelayString = "${smartbid.notifications.ending-soon.check-interval-ms:15000}")
+    public void notifyDue() {
+        List<Long> due = takeDue(Math.floorDiv(System.currentTimeMillis(), MINUTE_MS));
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<Long> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            transactionTemplate.executeWithoutResult(status -> notifyBatch(batch));
+        }
+    }
+
+    private synchronized List<Long> takeDue(long currentMinute) {
+        List<Long> due = new ArrayList<>();
+        NavigableMap<Long, Set<Long>> dueBuckets = buckets.headMap(currentMinute, true);
+        for (Set<Long> auctionIds : dueBuckets.values()) {
+            for (Long auctionId : auctionIds) {
+                bucketByAuction.remove(auctionId);
+                notified.add(auctionId);
+                // Auctions nobody watches cost nothing beyond this check
+                if (watcherIndex.getWatcherCount(auctionId) > 0) {
+                    due.add(auctionId);
+                }
+            }
+        }
+        dueBuckets.clear();
+        return due;
+    }
+
+    private void notifyBatch(List<Long> auctionIds) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Auction> auctions = new HashMap<>();
+        for (Auction auction : auctionRepository.findAllById(auctionIds)) {
+            if (auction.getStatus() == AuctionStatus.ACTIVE && auction.getEndTime().isAfter(now)) {
+                auctions.put(auction.getId(), auction);
+            }
+        }
+        if (auctions.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<Long>> emailRecipients = new HashMap<>();
+        Set<Long> emailUserIds = new HashSet<>();
+        for (Object[] row : auctionWatchRepository.findNotificationRecipients(auctions.keySet())) {
+            Long auctionId = (Long) row[0];
+            Long userId = (Long) row[1];
+            notificationService.sendAuctionEndingSoonNotification(userId, auctions.get(auctionId));
+            notifiedCounter.increment();
+            if (Boolean.TRUE.equals(row[2])) {
+                emailRecipients.computeIfAbsent(auctionId, id -> new ArrayList<>()).add(userId);
+                emailUserIds.add(userId);
+            }
+        }
+        if (emailUserIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, User> users = new HashMap<>();
+        userRepository.findAllById(emailUserIds).forEach(user -> users.put(user.getId(), user));
+        emailRecipients.forEach((auctionId, userIds) -> {
+            Auction auction = auctions.get(auctionId);
+            String timeLeft = Duration.between(now, auction.getEndTime()).toMinutes() + " minutes";
+            for (Long userId : userIds) {
+                User user = users.get(userId);
+                if (user != null) {
+                    emailService.sendAuctionEndingSoonEmail(user, auction.getTitle(), timeLeft);
+                }
+            }
+        });
+    }
+
+    private void removeFromBucket(Long minute, Long auctionId) {
+        Set<Long> auctionIds = buckets.get(minute);
+        if (auctionIds != null && auctionIds.remove(auctionId) && auctionIds.isEmpty()) {
+            buckets.remove(minute);
+        }
+    }
+}
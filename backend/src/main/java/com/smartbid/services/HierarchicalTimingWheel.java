@@ -0,0 +1,237 @@
+package com.smartbid.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hierarchical timing wheel for millions of coarse deadlines with millisecond firing
+ * Each level is a ring of buckets covering tickMs * wheelSize; deadlines beyond that
+ * overflow into a coarser level and cascade down as the clock advances. Insert and
+ * cancel are O(1); only non-empty buckets are queued, so an idle wheel never spins.
+ */
+public class HierarchicalTimingWheel {
+
+    private final Level root;
+    private final DelayQueue<Bucket> delayQueue = new DelayQueue<>();
+    private final Executor executor;
+    private int size;
+
+    /**
+     * @param tickMs    resolution of the finest level
+     * @param wheelSize buckets per level
+     * @param executor  runs due tasks, must not block
+     */
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, Executor executor) {
+        this.root = new Level(tickMs, wheelSize, System.currentTimeMillis());
+        this.executor = executor;
+    }
+
+    /**
+     * Schedule a task at an epoch-millisecond deadline; past deadlines run immediately
+     */
+    public Timeout schedule(long deadlineMs, Runnable task) {
+        Timeout timeout = new Timeout(this, deadlineMs, task);
+        boolean queued;
+        synchronized (this) {
+            queued = root.add(timeout);
+            if (queued) {
+                size++;
+            }
+        }
+        if (!queued) {
+            fire(timeout);
+        }
+        return timeout;
+    }
+
+    /**
+     * Wait up to timeoutMs for the next bucket to expire, then run everything that is due
+     */
+    public void advance(long timeoutMs) throws InterruptedException {
+        Bucket bucket = delayQueue.poll(timeoutMs, TimeUnit.MILLISECONDS);
+        if (bucket == null) {
+            return;
+        }
+
+        List<Timeout> due = new ArrayList<>();
+        synchronized (this) {
+            while (bucket != null) {
+                root.advanceClock(bucket.getExpiration());
+                // Entries either fire now or cascade into a finer level
+                for (Timeout timeout : bucket.drain()) {
+                    if (!root.add(timeout)) {
+                        size--;
+                        due.add(timeout);
+                    }
+                }
+                bucket = delayQueue.poll();
+            }
+        }
+        for (Timeout timeout : due) {
+            fire(timeout);
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void fire(Timeout timeout) {
+        timeout.expired = true;
+        if (!timeout.cancelled) {
+            executor.execute(timeout.task);
+        }
+    }
+
+    /**
+     * Handle for a scheduled task
+     */
+    public static final class Timeout {
+        private final HierarchicalTimingWheel wheel;
+        private final long deadlineMs;
+        private final Runnable task;
+        private volatile boolean cancelled;
+        private volatile boolean expired;
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(HierarchicalTimingWheel wheel, long deadlineMs, Runnable task) {
+            this.wheel = wheel;
+            this.deadlineMs = deadlineMs;
+            this.task = task;
+        }
+
+        // Unlink from its bucket in O(1); a cancelled task never runs
+        public void cancel() {
+            cancelled = true;
+            synchronized (wheel) {
+                if (bucket != null) {
+                    bucket.remove(this);
+                    wheel.size--;
+                }
+            }
+        }
+
+        public long getDeadlineMs() { return deadlineMs; }
+        public boolean isCancelled() { return cancelled; }
+        // True once the deadline was reached, whether or not the task ran
+        public boolean isExpired() { return expired; }
+    }
+
+    // One ring of buckets; overflow covers the next, coarser range
+    private final class Level {
+        private final long tickMs;
+        private final int wheelSize;
+        private final long interval;
+        private final Bucket[] buckets;
+        private long currentTime;
+        private Level overflow;
+
+        Level(long tickMs, int wheelSize, long startMs) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.interval = tickMs * wheelSize;
+            this.buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket();
+            }
+            this.currentTime = startMs - (startMs % tickMs);
+        }
+
+        // False when the deadline falls inside the current tick and should fire now
+        boolean add(Timeout timeout) {
+            long deadline = timeout.deadlineMs;
+            if (deadline < currentTime + tickMs) {
+                return false;
+            }
+            if (deadline < currentTime + interval) {
+                long virtualId = deadline / tickMs;
+                Bucket bucket = buckets[(int) (virtualId % wheelSize)];
+                bucket.add(timeout);
+                if (bucket.setExpiration(virtualId * tickMs)) {
+                    delayQueue.offer(bucket);
+                }
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level(interval, wheelSize, currentTime);
+            }
+            return overflow.add(timeout);
+        }
+
+        void advanceClock(long timeMs) {
+            if (timeMs >= currentTime + tickMs) {
+                currentTime = timeMs - (timeMs % tickMs);
+                if (overflow != null) {
+                    overflow.advanceClock(currentTime);
+                }
+            }
+        }
+    }
+
+    // Doubly linked list of timeouts sharing one expiration tick
+    private static final class Bucket implements Delayed {
+        private final Timeout head;
+        private volatile long expiration = -1;
+
+        Bucket() {
+            head = new Timeout(null, -1, null);
+            head.prev = head;
+            head.next = head;
+        }
+
+        void add(Timeout timeout) {
+            Timeout tail = head.prev;
+            timeout.next = head;
+            timeout.prev = tail;
+            timeout.bucket = this;
+            tail.next = timeout;
+            head.prev = timeout;
+        }
+
+        void remove(Timeout timeout) {
+            timeout.prev.next = timeout.next;
+            timeout.next.prev = timeout.prev;
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        List<Timeout> drain() {
+            List<Timeout> drained = new ArrayList<>();
+            while (head.next != head) {
+                Timeout timeout = head.next;
+                remove(timeout);
+                drained.add(timeout);
+            }
+            expiration = -1;
+            return drained;
+        }
+
+        // True when the bucket moved to a new tick and has to be re-queued
+        boolean setExpiration(long expirationMs) {
+            boolean changed = expiration != expirationMs;
+            expiration = expirationMs;
+            return changed;
+        }
+
+        long getExpiration() {
+            return expiration;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Math.max(expiration - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiration, ((Bucket) other).expiration);
+        }
+    }
+}
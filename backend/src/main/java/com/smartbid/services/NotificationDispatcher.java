@@ -0,0 +1,181 @@
+package com.smartbid.services;
+
+import com.smartbid.models.Notification.NotificationType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NotificationDispatcher takes notification events off the request path
+ * Events go onto a bounded queue without blocking; a background worker renders them and
+ * writes them to the notifications table in JDBC batches. When the queue is full new
+ * events are dropped and counted rather than slowing down bidding.
+ */
+@Component
+public class NotificationDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private static final String INSERT_NOTIFICATION_SQL =
+        "INSERT INTO notifications (user_id, type, title, message, is_read, related_auction_id, created_at) " +
+        "VALUES (?, ?, ?, ?, FALSE, ?, ?)";
+
+    @Value("${smartbid.notifications.queue-capacity:50000}")
+    private int queueCapacity;
+
+    @Value("${smartbid.notifications.batch-size:200}")
+    private int batchSize;
+
+    @Value("${smartbid.notifications.flush-interval-ms:50}")
+    private long flushIntervalMs;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private BlockingQueue<NotificationEvent> queue;
+    private Thread worker;
+    private volatile boolean running;
+    private Counter enqueuedCounter;
+    private Counter droppedCounter;
+    private Counter persistedCounter;
+    private Counter failedCounter;
+    private Timer queueWaitTimer;
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Gauge.builder("smartbid.notifications.queue.size", queue, Collection::size)
+            .description("Notification events waiting to be persisted")
+            .register(meterRegistry);
+        Gauge.builder("smartbid.notifications.queue.remaining", queue, BlockingQueue::remainingCapacity)
+            .description("Free slots before notifications start being dropped")
+            .register(meterRegistry);
+        enqueuedCounter = meterRegistry.counter("smartbid.notifications.enqueued");
+        droppedCounter = meterRegistry.counter("smartbid.notifications.dropped");
+        persistedCounter = meterRegistry.counter("smartbid.notifications.persisted");
+        failedCounter = meterRegistry.counter("smartbid.notifications.failed");
+        queueWaitTimer = meterRegistry.timer("smartbid.notifications.queue.wait");
+
+        running = true;
+        worker = new Thread(this::runWorker, "notification-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // Let the worker drain what is already queued
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Queue an event without blocking; returns false if it was dropped
+     */
+    public boolean dispatch(NotificationEvent event) {
+        if (queue.offer(event)) {
+            enqueuedCounter.increment();
+            return true;
+        }
+        droppedCounter.increment();
+        logger.warn("Notification queue full, dropping {} notification for user {}", event.getType(), event.getUserId());
+        return false;
+    }
+
+    private void runWorker() {
+        List<NotificationEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                NotificationEvent first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                persist(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                failedCounter.increment(batch.size());
+                logger.error("Failed to persist {} notifications", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Render off the request path and insert the whole batch at once
+    private void persist(List<NotificationEvent> batch) {
+        long now = System.nanoTime();
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (NotificationEvent event : batch) {
+            queueWaitTimer.record(now - event.getQueuedAtNanos(), TimeUnit.NANOSECONDS);
+            String message = event.render();
+            logger.debug("Notification for user {}: {}", event.getUserId(), message);
+            rows.add(new Object[] {
+                event.getUserId(), event.getType().name(), event.getTitle(), message,
+                event.getAuctionId(), Timestamp.valueOf(event.getCreatedAt())
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_NOTIFICATION_SQL, rows);
+        persistedCounter.increment(rows.size());
+    }
+
+    /**
+     * A notification captured at the call site; formatting is deferred to the worker
+     */
+    public static final class NotificationEvent {
+        private final Long userId;
+        private final NotificationType type;
+        private final Long auctionId;
+        private final String title;
+        private final String template;
+        private final Object[] args;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final long queuedAtNanos = System.nanoTime();
+
+        public NotificationEvent(Long userId, NotificationType type, Long auctionId,
+                                 String title, String template, Object... args) {
+            this.userId = userId;
+            this.type = type;
+            this.auctionId = auctionId;
+            this.title = title;
+            this.template = template;
+            this.args = args;
+        }
+
+        public String render() {
+            return String.format(template, args);
+        }
+
+        public Long getUserId() { return userId; }
+        public NotificationType getType() { return type; }
+        public Long getAuctionId() { return auctionId; }
+        public String getTitle() { return title; }
+        public LocalDateTime getCreatedAt() { return createdAt; }
+        public long getQueuedAtNanos() { return queuedAtNanos; }
+    }
+}
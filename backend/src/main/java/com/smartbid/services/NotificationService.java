@@ -2,130 +2,113 @@ package com.smartbid.services;
 
 import com.smartbid.models.Auction;
 import com.smartbid.models.Bid;
+import com.smartbid.models.Notification.NotificationType;
 import com.smartbid.models.User;
+import com.smartbid.services.NotificationDispatcher.NotificationEvent;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
+import java.math.BigDecimal;
+
+/**
+ * NotificationService turns domain events into user notifications
+ * Each send* call only captures the values it needs and hands an event to the
+ * NotificationDispatcher; rendering and persistence happen in the background
+ */
 @Service
 public class NotificationService {
-    
-    private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
+
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+
+    @Autowired
+    private OutbidCoalescer outbidCoalescer;
 
     // Send auction won notification
     public void sendAuctionWonNotification(User user, Auction auction) {
-        logger.info("Sending auction won notification to user {} for auction {}", 
-                   user.getId(), auction.getId());
-        
-        // TODO: Implement email/push notification logic
-        // For now, just log the notification
-        String message = String.format("Congratulations! You won the auction for '%s' with a bid of $%.2f", 
-                                      auction.getTitle(), auction.getFinalPrice());
-        
-        // Here you would typically:
-        // 1. Save notification to database
-        // 2. Send email
-        // 3. Send push notification
-        // 4. Send WebSocket notification for real-time updates
-        
-        logger.info("Notification sent: {}", message);
+        dispatch(user.getId(), NotificationType.AUCTION_WON, auction, "You won an auction",
+                 "Congratulations! You won the auction for '%s' with a bid of $%.2f",
+                 auction.getTitle(), auction.getFinalPrice());
     }
 
     // Send auction sold notification to seller
     public void sendAuctionSoldNotification(User seller, Auction auction) {
-        logger.info("Sending auction sold notification to seller {} for auction {}", 
-                   seller.getId(), auction.getId());
-        
-        String message = String.format("Your auction '%s' has been sold for $%.2f", 
-                                      auction.getTitle(), auction.getFinalPrice());
-        
-        logger.info("Notification sent: {}", message);
+        dispatch(seller.getId(), NotificationType.AUCTION_SOLD, auction, "Your auction has sold",
+                 "Your auction '%s' has been sold for $%.2f",
+                 auction.getTitle(), auction.getFinalPrice());
     }
 
     // Send reserve not met notification
     public void sendReserveNotMetNotification(User seller, Auction auction) {
-        logger.info("Sending reserve not met notification to seller {} for auction {}", 
-                   seller.getId(), auction.getId());
-        
-        String message = String.format("Your auction '%s' ended but the reserve price was not met", 
-                                      auction.getTitle());
-        
-        logger.info("Notification sent: {}", message);
+        dispatch(seller.getId(), NotificationType.RESERVE_NOT_MET, auction, "Reserve price not met",
+                 "Your auction '%s' ended but the reserve price was not met",
+                 auction.getTitle());
     }
 
     // Send bid placed notification
     public void sendBidPlacedNotification(User bidder, Auction auction, Bid bid) {
-        logger.info("Sending bid placed notification to bidder {} for auction {}", 
-                   bidder.getId(), auction.getId());
-        
-        String message = String.format("Your bid of $%.2f has been placed on '%s'", 
-                                      bid.getBidAmount(), auction.getTitle());
-        
-        logger.info("Notification sent: {}", message);
+        dispatch(bidder.getId(), NotificationType.BID_PLACED, auction, "Bid placed",
+                 "Your bid of $%.2f has been placed on '%s'",
+                 bid.getBidAmount(), auction.getTitle());
     }
 
-    // Send outbid notification
+    // Send outbid notification, coalesced per user and auction during bidding wars
     public void sendOutbidNotification(User user, Auction auction, Bid newHighestBid) {
-        logger.info("Sending outbid notification to user {} for auction {}", 
-                   user.getId(), auction.getId());
-        
-        String message = String.format("You have been outbid on '%s'. Current highest bid: $%.2f", 
-                                      auction.getTitle(), newHighestBid.getBidAmount());
-        
-        logger.info("Notification sent: {}", message);
+        outbidCoalescer.offer(user.getId(), auction.getId(), auction.getTitle(), newHighestBid.getBidAmount());
+    }
+
+    // Cancel a pending outbid notification once the user is winning again
+    public void cancelOutbidNotification(Long userId, Long auctionId) {
+        outbidCoalescer.clear(userId, auctionId);
+    }
+
+    // Send auction lost notification
+    public void sendAuctionLostNotification(Long userId, Auction auction) {
+        dispatch(userId, NotificationType.AUCTION_LOST, auction, "Auction ended",
+                 "The auction '%s' has ended and your bid did not win",
+                 auction.getTitle());
     }
 
     // Send auction ending soon notification
-    public void sendAuctionEndingSoonNotification(User user, Auction auction) {
-        logger.info("Sending auction ending soon notification to user {} for auction {}", 
-                   user.getId(), auction.getId());
-        
-        String message = String.format("The auction '%s' you're watching ends soon!", 
-                                      auction.getTitle());
-        
-        logger.info("Notification sent: {}", message);
+    public void sendAuctionEndingSoonNotification(Long userId, Auction auction) {
+        dispatch(userId, NotificationType.AUCTION_ENDING_SOON, auction, "Auction ending soon",
+                 "The auction '%s' you're watching ends soon!",
+                 auction.getTitle());
     }
 
     // Send price alert notification
-    public void sendPriceAlertNotification(User user, Auction auction, java.math.BigDecimal alertPrice) {
-        logger.info("Sending price alert notification to user {} for auction {}", 
-                   user.getId(), auction.getId());
-        
-        String message = String.format("Price alert: '%s' is now at $%.2f (your alert price: $%.2f)", 
-                                      auction.getTitle(), auction.getCurrentPrice(), alertPrice);
-        
-        logger.info("Notification sent: {}", message);
+    public void sendPriceAlertNotification(Long userId, Long auctionId, String auctionTitle,
+                                           BigDecimal currentPrice, BigDecimal alertPrice) {
+        notificationDispatcher.dispatch(new NotificationEvent(userId, NotificationType.PRICE_ALERT, auctionId,
+            "Price alert", "Price alert: '%s' is now at $%.2f (your alert price: $%.2f)",
+            auctionTitle, currentPrice, alertPrice));
     }
 
     // Send welcome notification for new users
     public void sendWelcomeNotification(User user) {
-        logger.info("Sending welcome notification to new user {}", user.getId());
-        
-        String message = String.format("Welcome to SmartBid, %s! Start exploring auctions and place your first bid.", 
-                                      user.getFirstName());
-        
-        logger.info("Notification sent: {}", message);
+        dispatch(user.getId(), NotificationType.WELCOME, null, "Welcome to SmartBid",
+                 "Welcome to SmartBid, %s! Start exploring auctions and place your first bid.",
+                 user.getFirstName());
     }
 
     // Send account verification notification
     public void sendAccountVerificationNotification(User user, String verificationToken) {
-        logger.info("Sending account verification notification to user {}", user.getId());
-        
-        String message = String.format("Please verify your account. Verification token: %s", 
-                                      verificationToken);
-        
         // In a real implementation, you would send an email with a verification link
-        logger.info("Verification notification sent: {}", message);
+        dispatch(user.getId(), NotificationType.ACCOUNT_VERIFICATION, null, "Verify your account",
+                 "Please verify your account. Verification token: %s",
+                 verificationToken);
     }
 
     // Send payment reminder
     public void sendPaymentReminderNotification(User user, Auction auction) {
-        logger.info("Sending payment reminder to user {} for auction {}", 
-                   user.getId(), auction.getId());
-        
-        String message = String.format("Reminder: Payment required for won auction '%s' - Amount: $%.2f", 
-                                      auction.getTitle(), auction.getFinalPrice());
-        
-        logger.info("Notification sent: {}", message);
+        dispatch(user.getId(), NotificationType.PAYMENT_REMINDER, auction, "Payment required",
+                 "Reminder: Payment required for won auction '%s' - Amount: $%.2f",
+                 auction.getTitle(), auction.getFinalPrice());
+    }
+
+    private void dispatch(Long userId, NotificationType type, Auction auction,
+                          String title, String template, Object... args) {
+        Long auctionId = auction != null ? auction.getId() : null;
+        notificationDispatcher.dispatch(new NotificationEvent(userId, type, auctionId, title, template, args));
     }
 }
@@ -0,0 +1,109 @@
+package com.smartbid.services;
+
+import com.smartbid.models.Auction;
+import com.smartbid.models.Bid;
+import com.smartbid.models.Bid.BidStatus;
+import com.smartbid.repositories.AuctionRepository;
+import com.smartbid.repositories.BidRepository;
+import com.smartbid.services.AuctionOrderBook.BidEntry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * OrderBookService owns the per-auction in-memory order books
+ * Books are loaded lazily from the bids table on first use and evicted
+ * whenever the database may have moved ahead of memory (retractions, auction end, failures)
+ */
+@Service
+public class OrderBookService {
+
+    private static final List<BidStatus> LIVE_STATUSES = List.of(BidStatus.ACTIVE, BidStatus.WINNING);
+    // Outbid bids still rank as runner-up, so retracting the leader can hand the lead back
+    private static final List<BidStatus> RANKED_STATUSES = List.of(BidStatus.ACTIVE, BidStatus.WINNING, BidStatus.OUTBID);
+
+    private final Map<Long, AuctionOrderBook> books = new ConcurrentHashMap<>();
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private BidWriteBehind bidWriteBehind;
+
+    /**
+     * Get the order book for an already loaded auction
+     */
+    public AuctionOrderBook getOrderBook(Auction auction) {
+        AuctionOrderBook book = books.get(auction.getId());
+        if (book != null) {
+            return book;
+        }
+        // This auction's bids still queued for write-behind must land before the book is rebuilt from the database
+        bidWriteBehind.awaitPendingWrites(auction.getId());
+        return books.computeIfAbsent(auction.getId(), id -> load(auction));
+    }
+
+    /**
+     * Get the order book for an auction, loading the auction if the book is cold
+     * Call this outside a transaction where possible: a cold book waits for the auction's queued
+     * writes, and the write-behind needs a connection of its own to commit them
+     */
+    public Optional<AuctionOrderBook> getOrderBook(Long auctionId) {
+        AuctionOrderBook book = books.get(auctionId);
+        if (book != null) {
+            return Optional.of(book);
+        }
+        // Wait before reading the auction so its price and bid count include the queued bids
+        bidWriteBehind.awaitPendingWrites(auctionId);
+        return auctionRepository.findById(auctionId).map(this::getOrderBook);
+    }
+
+    /**
+     * Point a loaded book at the latest snapshot of its auction, e.g. once it starts or is cancelled
+     */
+    public void refresh(Auction auction) {
+        AuctionOrderBook book = books.get(auction.getId());
+        if (book != null) {
+            book.refreshAuction(auction);
+        }
+    }
+
+    /**
+     * Drop the cached book so the next access reloads it from the database
+     */
+    public void evict(Long auctionId) {
+        books.remove(auctionId);
+    }
+
+    private AuctionOrderBook load(Auction auction) {
+        List<Bid> topBids = bidRepository.findTop2ByAuctionIdAndStatusInOrderByBidAmountDescCreatedAtAsc(
+            auction.getId(), RANKED_STATUSES);
+
+        // The auction may have been read before the last write-behind batch, the best bid is authoritative
+        BigDecimal currentPrice = auction.getCurrentPrice();
+        if (!topBids.isEmpty() && (currentPrice == null || topBids.get(0).getBidAmount().compareTo(currentPrice) > 0)) {
+            currentPrice = topBids.get(0).getBidAmount();
+        }
+        int bidCount = auction.getBidCount() != null ? auction.getBidCount() : 0;
+        AuctionOrderBook book = new AuctionOrderBook(auction, currentPrice, bidCount);
+
+        for (Bid bid : topBids) {
+            book.restore(BidEntry.of(bid));
+        }
+
+        List<Bid> proxies = bidRepository.findByAuctionIdAndTypeAndStatusIn(
+            auction.getId(), Bid.BidType.PROXY, LIVE_STATUSES);
+        for (Bid proxy : proxies) {
+            book.restoreProxy(BidEntry.of(proxy));
+        }
+        return book;
+    }
+}
@@ -0,0 +1,135 @@
+package com.smartbid.services;
+
+import com.smartbid.models.Notification.NotificationType;
+import com.smartbid.repositories.UserRepository;
+import com.smartbid.services.NotificationDispatcher.NotificationEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * OutbidCoalescer collapses bursts of outbid events for the same user and auction
+ * The first outbid opens a window; later ones only replace the price. When the window
+ * closes a single notification (and email) goes out with the latest price, and if the
+ * user retakes the lead in the meantime nothing is sent at all.
+ */
+@Component
+public class OutbidCoalescer {
+
+    private static final String OUTBID_TEMPLATE = "You have been outbid on '%s'. Current highest bid: $%.2f";
+
+    @Value("${smartbid.notifications.outbid.window-ms:5000}")
+    private long windowMs;
+
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<Key, PendingOutbid> pending = new ConcurrentHashMap<>();
+    private Counter receivedCounter;
+    private Counter emittedCounter;
+
+    @PostConstruct
+    public void init() {
+        meterRegistry.gaugeMapSize("smartbid.notifications.outbid.pending", Tags.empty(), pending);
+        receivedCounter = meterRegistry.counter("smartbid.notifications.outbid.received");
+        emittedCounter = meterRegistry.counter("smartbid.notifications.outbid.emitted");
+    }
+
+    /**
+     * Record an outbid; only the latest price survives until the window closes
+     */
+    public void offer(Long userId, Long auctionId, String auctionTitle, BigDecimal highestBid) {
+        receivedCounter.increment();
+        long now = System.currentTimeMillis();
+        pending.merge(new Key(userId, auctionId),
+            new PendingOutbid(auctionTitle, highestBid, now),
+            (existing, latest) -> existing.withPrice(latest.highestBid));
+    }
+
+    /**
+     * Drop a pending outbid because the user is winning again
+     */
+    public void clear(Long userId, Long auctionId) {
+        pending.remove(new Key(userId, auctionId));
+    }
+
+    // Emit every window that has closed
+    @Scheduled(fixedDelayString = "${smartbid.notifications.outbid.flush-interval-ms:500}")
+    public void flush() {
+        long cutoff = System.currentTimeMillis() - windowMs;
+        for (Map.Entry<Key, PendingOutbid> entry : pending.entrySet()) {
+            PendingOutbid outbid = entry.getValue();
+            if (outbid.openedAt > cutoff || !pending.remove(entry.getKey(), outbid)) {
+                continue;
+            }
+            emit(entry.getKey(), outbid);
+        }
+    }
+
+    private void emit(Key key, PendingOutbid outbid) {
+        emittedCounter.increment();
+        notificationDispatcher.dispatch(new NotificationEvent(key.userId, NotificationType.OUTBID, key.auctionId,
+            "You have been outbid", OUTBID_TEMPLATE, outbid.auctionTitle, outbid.highestBid));
+        userRepository.findById(key.userId).ifPresent(user ->
+            emailService.sendOutbidEmail(user, outbid.auctionTitle, String.format("$%.2f", outbid.highestBid)));
+    }
+
+    private static final class Key {
+        private final Long userId;
+        private final Long auctionId;
+
+        Key(Long userId, Long auctionId) {
+            this.userId = userId;
+            this.auctionId = auctionId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return userId.equals(other.userId) && auctionId.equals(other.auctionId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, auctionId);
+        }
+    }
+
+    // Window start is kept when merging so a steady stream of outbids still flushes on time
+    private static final class PendingOutbid {
+        private final String auctionTitle;
+        private final BigDecimal highestBid;
+        private final long openedAt;
+
+        PendingOutbid(String auctionTitle, BigDecimal highestBid, long openedAt) {
+            this.auctionTitle = auctionTitle;
+            this.highestBid = highestBid;
+            this.openedAt = openedAt;
+        }
+
+        PendingOutbid withPrice(BigDecimal newHighestBid) {
+            return new PendingOutbid(auctionTitle, newHighestBid, openedAt);
+        }
+    }
+}
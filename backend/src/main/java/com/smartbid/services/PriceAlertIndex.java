@@ -0,0 +1,177 @@
+package com.smartbid.services;
+
+import com.smartbid.models.AuctionWatch;
+import com.smartbid.repositories.AuctionWatchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BiConsumer;
+
+/**
+ * PriceAlertIndex holds every pending price alert in memory, per auction, sorted by threshold
+ * When an auction's price moves, the alerts it reached are exactly the head of that auction's
+ * map up to the new price, so matching is a range query instead of a scan of auction_watches.
+ * Alerts are one-shot: fired alerts leave the index and are cleared in the table in batches.
+ */
+@Component
+public class PriceAlertIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PriceAlertIndex.class);
+
+    private static final String CLEAR_ALERT_SQL =
+        "UPDATE auction_watches SET price_alert = NULL WHERE auction_id = ? AND user_id = ? AND price_alert <= ?";
+
+    @Autowired
+    private AuctionWatchRepository auctionWatchRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<Long, AuctionAlerts> alertsByAuction = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Object[]> firedToClear = new ConcurrentLinkedQueue<>();
+    private Counter firedCounter;
+
+    @PostConstruct
+    public void init() {
+        meterRegistry.gaugeMapSize("smartbid.price-alerts.auctions", Tags.empty(), alertsByAuction);
+        firedCounter = meterRegistry.counter("smartbid.price-alerts.fired");
+    }
+
+    // Build the index from the table, firing alerts that were reached while the application was down
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        int loaded = 0;
+        for (Object[] row : auctionWatchRepository.findPendingPriceAlerts()) {
+            put((Long) row[0], (Long) row[1], (BigDecimal) row[2]);
+            loaded++;
+        }
+        for (AuctionWatch watch : auctionWatchRepository.findPriceAlertNotifications()) {
+            Long auctionId = watch.getAuction().getId();
+            Long userId = watch.getUser().getId();
+            if (remove(auctionId, userId)) {
+                fire(auctionId, watch.getAuction().getTitle(), watch.getAuction().getCurrentPrice(),
+                     userId, watch.getPriceAlert());
+            }
+        }
+        logger.info("Loaded {} price alerts across {} auctions", loaded, alertsByAuction.size());
+    }
+
+    /**
+     * Register or move a user's alert for an auction
+     */
+    public void put(Long auctionId, Long userId, BigDecimal threshold) {
+        alertsByAuction.computeIfAbsent(auctionId, id -> new AuctionAlerts()).put(userId, threshold);
+    }
+
+    /**
+     * Remove a user's alert; returns false if there was none
+     */
+    public boolean remove(Long auctionId, Long userId) {
+        AuctionAlerts alerts = alertsByAuction.get(auctionId);
+        return alerts != null && alerts.remove(userId) != null;
+    }
+
+    /**
+     * Forget every alert of an auction that will not take bids any more
+     */
+    public void removeAuction(Long auctionId) {
+        alertsByAuction.remove(auctionId);
+    }
+
+    /**
+     * Fire every alert on the auction whose threshold the new price has reached
+     */
+    public void onPriceChanged(Long auctionId, String auctionTitle, BigDecimal newPrice) {
+        AuctionAlerts alerts = alertsByAuction.get(auctionId);
+        if (alerts == null) {
+            return;
+        }
+        alerts.takeReached(newPrice, (userId, threshold) -> fire(auctionId, auctionTitle, newPrice, userId, threshold));
+    }
+
+    // Persist fired alerts in one batch so a restart does not fire them again; a newer, higher alert is kept
+    @Scheduled(fixedDelayString = "${smartbid.price-alerts.clear-interval-ms:1000}")
+    public void clearFired() {
+        List<Object[]> batch = new ArrayList<>();
+        Object[] fired;
+        while ((fired = firedToClear.poll()) != null) {
+            batch.add(fired);
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(CLEAR_ALERT_SQL, batch);
+        }
+    }
+
+    private void fire(Long auctionId, String auctionTitle, BigDecimal price, Long userId, BigDecimal threshold) {
+        firedCounter.increment();
+        notificationService.sendPriceAlertNotification(userId, auctionId, auctionTitle, price, threshold);
+        firedToClear.offer(new Object[] { auctionId, userId, threshold });
+    }
+
+    // Alerts of one auction; thresholds map to the users waiting on them
+    private static final class AuctionAlerts {
+        private final NavigableMap<BigDecimal, Set<Long>> byThreshold = new TreeMap<>();
+        private final Map<Long, BigDecimal> byUser = new HashMap<>();
+
+        synchronized BigDecimal put(Long userId, BigDecimal threshold) {
+            BigDecimal previous = remove(userId);
+            byThreshold.computeIfAbsent(threshold, t -> new HashSet<>()).add(userId);
+            byUser.put(userId, threshold);
+            return previous;
+        }
+
+        synchronized BigDecimal remove(Long userId) {
+            BigDecimal threshold = byUser.remove(userId);
+            if (threshold != null) {
+                Set<Long> users = byThreshold.get(threshold);
+                users.remove(userId);
+                if (users.isEmpty()) {
+                    byThreshold.remove(threshold);
+                }
+            }
+            return threshold;
+        }
+
+        synchronized void takeReached(BigDecimal price, BiConsumer<Long, BigDecimal> consumer) {
+            Iterator<Map.Entry<BigDecimal, Set<Long>>> reached = byThreshold.headMap(price, true).entrySet().iterator();
+            while (reached.hasNext()) {
+                Map.Entry<BigDecimal, Set<Long>> entry = reached.next();
+                for (Long userId : entry.getValue()) {
+                    byUser.remove(userId);
+                    consumer.accept(userId, entry.getKey());
+                }
+                reached.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.smartbid.services;
+
+import com.smartbid.models.Auction;
+import com.smartbid.services.AuctionOrderBook.BidEntry;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Optional;
+
+/**
+ * ProxyBiddingEngine resolves a proxy war against an auction's order book in one step
+ * The highest ceiling wins and pays the runner-up's ceiling plus one increment (capped at
+ * its own ceiling), so however many proxies are involved the auction gets one price update
+ */
+@Component
+public class ProxyBiddingEngine {
+
+    /**
+     * Resolve an incoming bid against the standing proxy of another bidder
+     *
+     * @param amount  the manual bid amount, ignored for proxy bids
+     * @param ceiling the proxy maximum, or null for a manual bid
+     */
+    public Resolution resolve(AuctionOrderBook orderBook, Long bidderId, BigDecimal amount, BigDecimal ceiling) {
+        BigDecimal floor = toCents(orderBook.getMinimumNextBid());
+        BigDecimal challengerCeiling = ceiling != null ? ceiling : amount;
+
+        // Only another bidder's proxy can defend; losing proxies are always drained from the book
+        Optional<BidEntry> standingProxy = orderBook.getTopProxy()
+            .filter(proxy -> !proxy.getUserId().equals(bidderId));
+
+        if (standingProxy.isEmpty()) {
+            // Uncontested: a proxy opens at the minimum next bid, a manual bid at its own amount
+            BigDecimal price = ceiling != null ? floor : amount;
+            return new Resolution(true, price, price, null);
+        }
+
+        BidEntry defender = standingProxy.get();
+        if (challengerCeiling.compareTo(defender.getCeiling()) > 0) {
+            // Challenger outlasts the standing proxy
+            BigDecimal price = ceiling != null
+                ? ceiling.min(floor.max(nextIncrementAbove(defender.getCeiling())))
+                : amount;
+            return new Resolution(true, price, price, defender);
+        }
+
+        // Standing proxy defends (earlier proxy wins ties) and only climbs one increment past the challenger
+        BigDecimal price = defender.getCeiling().min(nextIncrementAbove(challengerCeiling));
+        return new Resolution(false, price, challengerCeiling, defender);
+    }
+
+    private BigDecimal nextIncrementAbove(BigDecimal price) {
+        return toCents(Auction.calculateMinimumNextBid(price, price));
+    }
+
+    // Prices are stored with two decimals, round increments up so they never fall short
+    private BigDecimal toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.UP);
+    }
+
+    /**
+     * Outcome of a proxy war
+     */
+    public static final class Resolution {
+        private final boolean challengerWins;
+        private final BigDecimal price;            // New auction price
+        private final BigDecimal challengerAmount; // Amount recorded on the incoming bid
+        private final BidEntry defender;           // Standing proxy involved, if any
+
+        Resolution(boolean challengerWins, BigDecimal price, BigDecimal challengerAmount, BidEntry defender) {
+            this.challengerWins = challengerWins;
+            this.price = price;
+            this.challengerAmount = challengerAmount;
+            this.defender = defender;
+        }
+
+        public boolean isChallengerWins() { return challengerWins; }
+        public BigDecimal getPrice() { return price; }
+        public BigDecimal getChallengerAmount() { return challengerAmount; }
+        public Optional<BidEntry> getDefender() { return Optional.ofNullable(defender); }
+    }
+}
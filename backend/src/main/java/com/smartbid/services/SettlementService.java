@@ -0,0 +1,69 @@
+package com.smartbid.services;
+
+import com.smartbid.models.Bid.BidStatus;
+import com.smartbid.repositories.BidRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * SettlementService marks the final WON/LOST status of bids for auctions being closed
+ * Only the given auctions are touched, with one set-based UPDATE per batch, and the
+ * losing bidders are returned so notifications need no further queries
+ */
+@Service
+@Transactional
+public class SettlementService {
+
+    private static final List<BidStatus> SETTLEABLE_STATUSES =
+        List.of(BidStatus.ACTIVE, BidStatus.WINNING, BidStatus.OUTBID);
+
+    // Never a real bid id, keeps "IN (...)" valid when no auction in the batch has a winner
+    private static final List<Long> NO_WINNERS = List.of(-1L);
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    /**
+     * Settle a batch of closing auctions
+     *
+     * @param auctionIds    auctions being closed
+     * @param winningBidIds winning bid of each auction that sold
+     * @return losing bidder ids per auction, excluding each auction's winner
+     */
+    public Map<Long, Set<Long>> settle(Collection<Long> auctionIds, Collection<Long> winningBidIds) {
+        if (auctionIds.isEmpty()) {
+            return Map.of();
+        }
+
+        // Read who is affected before the statuses change
+        List<Object[]> rows = bidRepository.findSettlementRows(auctionIds, SETTLEABLE_STATUSES);
+        Set<Long> winners = new HashSet<>(winningBidIds);
+        Map<Long, Long> winnerByAuction = new HashMap<>();
+        for (Object[] row : rows) {
+            if (winners.contains((Long) row[2])) {
+                winnerByAuction.put((Long) row[0], (Long) row[1]);
+            }
+        }
+
+        Map<Long, Set<Long>> losers = new HashMap<>();
+        for (Object[] row : rows) {
+            Long auctionId = (Long) row[0];
+            Long bidderId = (Long) row[1];
+            if (!bidderId.equals(winnerByAuction.get(auctionId))) {
+                losers.computeIfAbsent(auctionId, id -> new LinkedHashSet<>()).add(bidderId);
+            }
+        }
+
+        bidRepository.settleBids(auctionIds, winners.isEmpty() ? NO_WINNERS : winners);
+        return losers;
+    }
+}
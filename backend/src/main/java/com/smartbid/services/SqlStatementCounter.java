@@ -0,0 +1,39 @@
+package com.smartbid.services;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * SqlStatementCounter counts the SQL statements Hibernate prepares on the current thread
+ * It is installed as Hibernate's statement inspector and leaves the SQL untouched. Callers read
+ * and reset the count around a unit of work (an HTTP request, see QueryCountConfig), which makes
+ * a lazy load per row show up as a statement count that grows with the page size.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector {
+
+    private final ThreadLocal<int[]> count = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        count.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Statements prepared on this thread since the last reset
+     */
+    public int current() {
+        return count.get()[0];
+    }
+
+    /**
+     * Start a new unit of work, returning the count of the one that ended
+     */
+    public int reset() {
+        int[] counter = count.get();
+        int previous = counter[0];
+        counter[0] = 0;
+        return previous;
+    }
+}
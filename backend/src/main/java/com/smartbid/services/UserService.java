@@ -2,6 +2,9 @@ package com.smartbid.services;
 
 import com.smartbid.models.User;
 import com.smartbid.repositories.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -24,6 +27,9 @@ import java.util.UUID;
 @Transactional
 public class UserService implements UserDetailsService {
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -38,7 +44,7 @@ public class UserService implements UserDetailsService {
      */
     public User createUser(User user) {
         // Check if username or email already exists
-        if (userRepository.findByUsername(user.getUsername()).isPresent()) {
+        if (findByUsername(user.getUsername()).isPresent()) {
             throw new RuntimeException("Username already exists");
         }
         
@@ -70,7 +76,7 @@ public class UserService implements UserDetailsService {
      * Authenticate user login
      */
     public Optional<User> authenticate(String usernameOrEmail, String password) {
-        Optional<User> userOpt = userRepository.findByUsername(usernameOrEmail);
+        Optional<User> userOpt = findByUsername(usernameOrEmail);
         if (userOpt.isEmpty()) {
             userOpt = userRepository.findByEmail(usernameOrEmail);
         }
@@ -98,7 +104,8 @@ public class UserService implements UserDetailsService {
      * Find user by username
      */
     public Optional<User> findByUsername(String username) {
-        return userRepository.findByUsername(username);
+        // Username is the natural id, so repeat lookups resolve through the second-level cache
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(User.class).loadOptional(username);
     }
 
     /**
@@ -208,7 +215,7 @@ public class UserService implements UserDetailsService {
      * Get users with high credit scores (for premium features)
      */
     public List<User> getHighCreditScoreUsers() {
-        return userRepository.findByVerifiedTrueAndCreditScoreGreaterThanEqual(BigDecimal.valueOf(700.0));
+        return userRepository.findByIsVerifiedTrueAndCreditScoreGreaterThanEqual(BigDecimal.valueOf(700.0));
     }
 
     /**
@@ -312,7 +319,7 @@ public class UserService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Optional<User> userOpt = userRepository.findByUsername(username);
+        Optional<User> userOpt = findByUsername(username);
         if (userOpt.isEmpty()) {
             userOpt = userRepository.findByEmail(username);
         }
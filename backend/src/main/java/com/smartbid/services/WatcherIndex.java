@@ -0,0 +1,165 @@
+package com.smartbid.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+
+/**
+ * WatcherIndex maps auctions to the ids of the users watching them, and users to the auctions they watch
+ * Each side is a sorted long[] per key, replaced copy-on-write on watch/unwatch, so readers never lock,
+ * fanning out to an auction's watchers walks one primitive array without allocating per watcher, and
+ * "is this user watching" is a binary search.
+ */
+@Component
+public class WatcherIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(WatcherIndex.class);
+
+    private static final long[] EMPTY = new long[0];
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, long[]> watchersByAuction = new ConcurrentHashMap<>();
+    private final Map<Long, long[]> auctionsByUser = new ConcurrentHashMap<>();
+
+    // Stream auction_watches once at startup; rows arrive sorted, so watcher arrays need no sort
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Map<Long, LongBuffer> byAuction = new HashMap<>();
+        Map<Long, LongBuffer> byUser = new HashMap<>();
+        jdbcTemplate.query("SELECT auction_id, user_id FROM auction_watches ORDER BY auction_id, user_id", rs -> {
+            long auctionId = rs.getLong(1);
+            long userId = rs.getLong(2);
+            byAuction.computeIfAbsent(auctionId, id -> new LongBuffer()).add(userId);
+            byUser.computeIfAbsent(userId, id -> new LongBuffer()).add(auctionId);
+        });
+        // Merge rather than put so watches added while loading are kept
+        byAuction.forEach((auctionId, users) -> watchersByAuction.merge(auctionId, users.toArray(), WatcherIndex::union));
+        byUser.forEach((userId, auctions) -> {
+            long[] sorted = auctions.toArray();
+            Arrays.sort(sorted);
+            auctionsByUser.merge(userId, sorted, WatcherIndex::union);
+        });
+        logger.info("Indexed watchers for {} auctions and {} users", watchersByAuction.size(), auctionsByUser.size());
+    }
+
+    public void add(long auctionId, long userId) {
+        watchersByAuction.compute(auctionId, (id, users) -> insert(users, userId));
+        auctionsByUser.compute(userId, (id, auctions) -> insert(auctions, auctionId));
+    }
+
+    public void remove(long auctionId, long userId) {
+        watchersByAuction.computeIfPresent(auctionId, (id, users) -> delete(users, userId));
+        auctionsByUser.computeIfPresent(userId, (id, auctions) -> delete(auctions, auctionId));
+    }
+
+    /**
+     * Drop an auction and every user's reference to it
+     */
+    public void removeAuction(long auctionId) {
+        long[] users = watchersByAuction.remove(auctionId);
+        if (users != null) {
+            for (long userId : users) {
+                auctionsByUser.computeIfPresent(userId, (id, auctions) -> delete(auctions, auctionId));
+            }
+        }
+    }
+
+    public boolean isWatching(long userId, long auctionId) {
+        return Arrays.binarySearch(auctionsByUser.getOrDefault(userId, EMPTY), auctionId) >= 0;
+    }
+
+    public int getWatcherCount(long auctionId) {
+        return watchersByAuction.getOrDefault(auctionId, EMPTY).length;
+    }
+
+    /**
+     * Visit the auction's watchers as of now; later changes do not affect an iteration in progress
+     */
+    public void forEachWatcher(long auctionId, LongConsumer action) {
+        for (long userId : watchersByAuction.getOrDefault(auctionId, EMPTY)) {
+            action.accept(userId);
+        }
+    }
+
+    /**
+     * Sorted watcher ids; the array is shared and must not be modified
+     */
+    public long[] getWatchers(long auctionId) {
+        return watchersByAuction.getOrDefault(auctionId, EMPTY);
+    }
+
+    /**
+     * Sorted ids of the auctions a user watches; the array is shared and must not be modified
+     */
+    public long[] getWatchedAuctions(long userId) {
+        return auctionsByUser.getOrDefault(userId, EMPTY);
+    }
+
+    private static long[] union(long[] current, long[] loaded) {
+        long[] merged = loaded;
+        for (long value : current) {
+            merged = insert(merged, value);
+        }
+        return merged;
+    }
+
+    private static long[] insert(long[] values, long value) {
+        if (values == null) {
+            return new long[] { value };
+        }
+        int index = Arrays.binarySearch(values, value);
+        if (index >= 0) {
+            return values;
+        }
+        int insertAt = -index - 1;
+        long[] grown = new long[values.length + 1];
+        System.arraycopy(values, 0, grown, 0, insertAt);
+        grown[insertAt] = value;
+        System.arraycopy(values, insertAt, grown, insertAt + 1, values.length - insertAt);
+        return grown;
+    }
+
+    // Returning null removes the key once nobody is left
+    private static long[] delete(long[] values, long value) {
+        int index = Arrays.binarySearch(values, value);
+        if (index < 0) {
+            return values;
+        }
+        if (values.length == 1) {
+            return null;
+        }
+        long[] shrunk = new long[values.length - 1];
+        System.arraycopy(values, 0, shrunk, 0, index);
+        System.arraycopy(values, index + 1, shrunk, index, values.length - index - 1);
+        return shrunk;
+    }
+
+    // Growable primitive buffer used only while loading
+    private static final class LongBuffer {
+        private long[] values = new long[4];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
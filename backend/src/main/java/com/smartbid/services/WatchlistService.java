@@ -0,0 +1,127 @@
+package com.smartbid.services;
+
+import com.smartbid.models.Auction;
+import com.smartbid.models.Auction.AuctionStatus;
+import com.smartbid.models.AuctionWatch;
+import com.smartbid.models.User;
+import com.smartbid.repositories.AuctionRepository;
+import com.smartbid.repositories.AuctionWatchRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * WatchlistService manages users watching auctions and their price alerts
+ * Watches are mirrored into the WatcherIndex and alerts into the PriceAlertIndex,
+ * so watcher lookups and price changes never scan auction_watches. The indexes are only
+ * changed once the transaction commits, so a rollback never leaves phantom watchers or alerts.
+ */
+@Service
+@Transactional
+public class WatchlistService {
+
+    @Autowired
+    private AuctionWatchRepository auctionWatchRepository;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private PriceAlertIndex priceAlertIndex;
+
+    @Autowired
+    private WatcherIndex watcherIndex;
+
+    @Autowired
+    private AuctionEngagementCounters engagementCounters;
+
+    // Watch an auction, optionally with a price alert
+    public AuctionWatch watchAuction(Long auctionId, User user, BigDecimal priceAlert) {
+        Auction auction = auctionRepository.findById(auctionId)
+            .orElseThrow(() -> new IllegalArgumentException("Auction not found"));
+
+        if (auction.getStatus() != AuctionStatus.UPCOMING && auction.getStatus() != AuctionStatus.ACTIVE) {
+            throw new IllegalArgumentException("Only upcoming or active auctions can be watched");
+        }
+
+        Optional<AuctionWatch> existing = auctionWatchRepository.findByUserIdAndAuctionId(user.getId(), auctionId);
+        AuctionWatch watch = existing.orElseGet(() -> new AuctionWatch(user, auction));
+        if (existing.isEmpty()) {
+            engagementCounters.adjustWatchers(auctionId, 1);
+            AfterCommit.run(() -> watcherIndex.add(auctionId, user.getId()));
+        }
+
+        applyPriceAlert(watch, auction, priceAlert);
+        return auctionWatchRepository.save(watch);
+    }
+
+    // Set or clear the price alert on an existing watch
+    public AuctionWatch setPriceAlert(Long auctionId, User user, BigDecimal priceAlert) {
+        AuctionWatch watch = auctionWatchRepository.findWithAuctionByUserIdAndAuctionId(user.getId(), auctionId)
+            .orElseThrow(() -> new IllegalArgumentException("You are not watching this auction"));
+
+        applyPriceAlert(watch, watch.getAuction(), priceAlert);
+        return auctionWatchRepository.save(watch);
+    }
+
+    // Stop watching an auction
+    public void unwatchAuction(Long auctionId, User user) {
+        if (!watcherIndex.isWatching(user.getId(), auctionId)) {
+            throw new IllegalArgumentException("You are not watching this auction");
+        }
+
+        auctionWatchRepository.deleteByUserIdAndAuctionId(user.getId(), auctionId);
+        engagementCounters.adjustWatchers(auctionId, -1);
+        AfterCommit.run(() -> {
+            watcherIndex.remove(auctionId, user.getId());
+            priceAlertIndex.remove(auctionId, user.getId());
+        });
+    }
+
+    // Check if user is watching an auction
+    @Transactional(readOnly = true)
+    public boolean isWatching(Long auctionId, Long userId) {
+        return watcherIndex.isWatching(userId, auctionId);
+    }
+
+    // Count the users watching an auction
+    @Transactional(readOnly = true)
+    public int getWatcherCount(Long auctionId) {
+        return watcherIndex.getWatcherCount(auctionId);
+    }
+
+    // Get user's watchlist
+    @Transactional(readOnly = true)
+    public Page<AuctionWatch> getWatchlist(Long userId, Pageable pageable) {
+        return auctionWatchRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
+    }
+
+    // Alerts must sit above the current price, otherwise they would fire immediately
+    private void applyPriceAlert(AuctionWatch watch, Auction auction, BigDecimal priceAlert) {
+        Long auctionId = auction.getId();
+        Long userId = watch.getUser().getId();
+        if (priceAlert == null) {
+            watch.setPriceAlert(null);
+            AfterCommit.run(() -> priceAlertIndex.remove(auctionId, userId));
+            return;
+        }
+
+        BigDecimal currentPrice = auction.getCurrentPrice() != null ? auction.getCurrentPrice() : auction.getStartingPrice();
+        if (priceAlert.compareTo(currentPrice) <= 0) {
+            throw new IllegalArgumentException(
+                String.format("Alert price must be above the current price of $%.2f", currentPrice));
+        }
+
+        watch.setPriceAlert(priceAlert);
+        if (Boolean.FALSE.equals(watch.getNotificationEnabled())) {
+            AfterCommit.run(() -> priceAlertIndex.remove(auctionId, userId));
+        } else {
+            AfterCommit.run(() -> priceAlertIndex.put(auctionId, userId, priceAlert));
+        }
+    }
+}
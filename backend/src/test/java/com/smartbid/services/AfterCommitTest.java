@@ -0,0 +1,67 @@
+package com.smartbid.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Deferral of side effects to the commit, driven the way the transaction manager drives it
+ */
+class AfterCommitTest {
+
+    @BeforeEach
+    void beginTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void endTransaction() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void actionWaitsForTheCommit() {
+        List<String> ran = new ArrayList<>();
+
+        AfterCommit.run(() -> ran.add("index"));
+        assertEquals(List.of(), ran);
+
+        commit();
+        assertEquals(List.of("index"), ran);
+    }
+
+    @Test
+    void actionDeferredFromAnotherAfterCommitActionStillRuns() {
+        List<String> ran = new ArrayList<>();
+
+        AfterCommit.run(() -> {
+            ran.add("outer");
+            AfterCommit.run(() -> ran.add("inner"));
+        });
+        commit();
+
+        assertEquals(List.of("outer", "inner"), ran);
+    }
+
+    @Test
+    void actionRunsStraightAwayOutsideATransaction() {
+        TransactionSynchronizationManager.clearSynchronization();
+        List<String> ran = new ArrayList<>();
+
+        AfterCommit.run(() -> ran.add("index"));
+
+        assertEquals(List.of("index"), ran);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    private static void commit() {
+        TransactionSynchronizationUtils.triggerAfterCommit();
+    }
+}
@@ -0,0 +1,190 @@
+package com.smartbid.services;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.fppt.jedismock.RedisServer;
+import com.smartbid.models.Auction;
+import com.smartbid.models.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two detail cache nodes sharing one in-process Redis server
+ * Each node has its own connections, as separate application instances would.
+ */
+class AuctionDetailCacheTest {
+
+    private static final Long AUCTION_ID = 42L;
+    private static final String VERSION_KEY = "smartbid:auction-detail-version:" + AUCTION_ID;
+    private static final String VALUE_KEY = "smartbid:auction-detail:" + AUCTION_ID;
+
+    private RedisServer redis;
+    private StringRedisTemplate redisTemplate;
+    private final List<LettuceConnectionFactory> connectionFactories = new ArrayList<>();
+    private final List<AuctionDetailCache> nodes = new ArrayList<>();
+
+    @BeforeEach
+    void startRedis() throws Exception {
+        redis = RedisServer.newRedisServer().start();
+        redisTemplate = new StringRedisTemplate(connect());
+    }
+
+    @AfterEach
+    void stopRedis() throws Exception {
+        for (AuctionDetailCache node : nodes) {
+            node.stop();
+        }
+        connectionFactories.forEach(LettuceConnectionFactory::destroy);
+        redis.stop();
+    }
+
+    @Test
+    void invalidationOnOneNodeDropsTheLocalCopyOnTheOther() throws Exception {
+        AuctionDetailCache first = node();
+        AuctionDetailCache second = node();
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("Original title", first.get(AUCTION_ID, id -> load(loads, "Original title")).getTitle());
+        // The second node is served from the shared tier without touching the database
+        assertEquals("Original title", second.get(AUCTION_ID, id -> load(loads, "Unexpected load")).getTitle());
+        assertEquals(1, loads.get());
+
+        first.invalidate(AUCTION_ID);
+
+        await(() -> localCopy(second) == null, "second node kept its local copy");
+        assertEquals(null, redisTemplate.opsForValue().get(VALUE_KEY));
+        assertEquals("Changed title", second.get(AUCTION_ID, id -> load(loads, "Changed title")).getTitle());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void loadThatRacesAChangeIsNeverServedFromTheSharedTier() throws Exception {
+        AuctionDetailCache first = node();
+        AuctionDetailCache second = node();
+
+        // The first node reads the old row; the second commits a change before the first stores it
+        AuctionDetail stale = first.get(AUCTION_ID, id -> {
+            second.invalidate(AUCTION_ID);
+            await(() -> "1".equals(redisTemplate.opsForValue().get(VERSION_KEY)), "change was not published");
+            return detail("Old title");
+        });
+        assertEquals("Old title", stale.getTitle());
+
+        // The stale copy went to Redis under the version read before the change, which is no longer current
+        String shared = redisTemplate.opsForValue().get(VALUE_KEY);
+        assertNotNull(shared);
+        assertTrue(shared.startsWith("0|"), "stored under version " + shared.substring(0, shared.indexOf('|')));
+
+        AtomicInteger loads = new AtomicInteger();
+        assertEquals("New title", second.get(AUCTION_ID, id -> load(loads, "New title")).getTitle());
+        assertEquals(1, loads.get());
+
+        // The first node drops its own stale copy once the change reaches it
+        await(() -> localCopy(first) == null, "first node kept the stale copy");
+        assertEquals("New title", first.get(AUCTION_ID, id -> load(loads, "Unexpected load")).getTitle());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void readBeforeTheCommitIsDroppedWithoutTheSharedTier() {
+        AuctionDetailCache node = node(false);
+        AtomicInteger loads = new AtomicInteger();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            node.invalidate(AUCTION_ID);
+            // Another request reads the row the transaction has not committed yet
+            node.get(AUCTION_ID, id -> load(loads, "Old title"));
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(null, localCopy(node));
+        assertEquals("New title", node.get(AUCTION_ID, id -> load(loads, "New title")).getTitle());
+        assertEquals(2, loads.get());
+    }
+
+    private AuctionDetailCache node() {
+        return node(true);
+    }
+
+    private AuctionDetailCache node(boolean redisEnabled) {
+        AuctionDetailCache cache = new AuctionDetailCache();
+        LettuceConnectionFactory connectionFactory = connect();
+        ReflectionTestUtils.setField(cache, "localMaxSize", 1000L);
+        ReflectionTestUtils.setField(cache, "localTtlMs", 60000L);
+        ReflectionTestUtils.setField(cache, "redisEnabled", redisEnabled);
+        ReflectionTestUtils.setField(cache, "redisTtlMs", 60000L);
+        ReflectionTestUtils.setField(cache, "redisTemplate", new StringRedisTemplate(connectionFactory));
+        ReflectionTestUtils.setField(cache, "redisConnectionFactory", connectionFactory);
+        ReflectionTestUtils.setField(cache, "objectMapper", JsonMapper.builder().findAndAddModules().build());
+        ReflectionTestUtils.setField(cache, "meterRegistry", new SimpleMeterRegistry());
+        cache.start();
+        nodes.add(cache);
+        return cache;
+    }
+
+    private LettuceConnectionFactory connect() {
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(
+            new RedisStandaloneConfiguration(redis.getHost(), redis.getBindPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        connectionFactories.add(connectionFactory);
+        return connectionFactory;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AuctionDetail localCopy(AuctionDetailCache node) {
+        Cache<Long, AuctionDetail> local = (Cache<Long, AuctionDetail>) ReflectionTestUtils.getField(node, "local");
+        return local.getIfPresent(AUCTION_ID);
+    }
+
+    private static AuctionDetail load(AtomicInteger loads, String title) {
+        loads.incrementAndGet();
+        return detail(title);
+    }
+
+    private static AuctionDetail detail(String title) {
+        User seller = new User("seller", "seller@example.com", "password", "First", "Last");
+        seller.setId(7L);
+        LocalDateTime now = LocalDateTime.now();
+        Auction auction = new Auction(title, "Boxed and unused", new BigDecimal("10.00"), now, now.plusDays(1), seller);
+        auction.setId(AUCTION_ID);
+        return AuctionDetail.of(auction);
+    }
+
+    private static void await(BooleanSupplier condition, String failure) {
+        long giveUp = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > giveUp) {
+                throw new AssertionError(failure);
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(failure, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.smartbid.services;
+
+import com.smartbid.repositories.AuctionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Delivery to ticker clients with a single sender, so one stalled client would hold up every other
+ */
+class AuctionTickerServiceTest {
+
+    private static final long SEND_TIMEOUT_MS = 50;
+
+    private AuctionTickerService ticker;
+    private final CountDownLatch unblock = new CountDownLatch(1);
+
+    @BeforeEach
+    void startTicker() {
+        ticker = new AuctionTickerService();
+        ReflectionTestUtils.setField(ticker, "endingSoonHours", 24L);
+        ReflectionTestUtils.setField(ticker, "popularSize", 10);
+        ReflectionTestUtils.setField(ticker, "emitterTimeoutMs", 60000L);
+        ReflectionTestUtils.setField(ticker, "senderCount", 1);
+        ReflectionTestUtils.setField(ticker, "maxPending", 256);
+        ReflectionTestUtils.setField(ticker, "sendTimeoutMs", SEND_TIMEOUT_MS);
+        // Both lists come back empty
+        ReflectionTestUtils.setField(ticker, "auctionRepository", Mockito.mock(AuctionRepository.class));
+        ticker.start();
+    }
+
+    @AfterEach
+    void stopTicker() {
+        unblock.countDown();
+        ticker.stop();
+    }
+
+    @Test
+    void stalledClientDoesNotDelayTheOthers() throws Exception {
+        StalledEmitter stalled = new StalledEmitter(unblock);
+        ticker.subscribe(stalled);
+        assertTrue(stalled.entered.await(5, TimeUnit.SECONDS), "stalled client was never sent to");
+
+        // The only sender is stuck in the stalled client's write, so this snapshot waits behind it
+        RecordingEmitter healthy = new RecordingEmitter();
+        ticker.subscribe(healthy);
+        assertFalse(healthy.received.await(SEND_TIMEOUT_MS * 2, TimeUnit.MILLISECONDS), "sender was not blocked");
+
+        ticker.refresh();
+
+        assertTrue(healthy.received.await(5, TimeUnit.SECONDS), "healthy client waited for the stalled one");
+        assertEquals(1, ticker.getSubscriberCount());
+    }
+
+    // A client whose connection accepts no more bytes: the first write blocks until released
+    private static final class StalledEmitter extends SseEmitter {
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch unblock;
+
+        StalledEmitter(CountDownLatch unblock) {
+            this.unblock = unblock;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            entered.countDown();
+            try {
+                unblock.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final CountDownLatch received = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            received.countDown();
+        }
+    }
+}
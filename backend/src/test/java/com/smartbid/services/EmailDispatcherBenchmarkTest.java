@@ -0,0 +1,94 @@
+package com.smartbid.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Throughput of the email dispatcher against the in-process SMTP sink
+ * Compares batched SMTP sessions with one session per message and logs both rates.
+ * Tagged benchmark, so it is left out of the default build.
+ */
+@Tag("benchmark")
+class EmailDispatcherBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailDispatcherBenchmarkTest.class);
+
+    private static final int MESSAGES = 2000;
+    private static final int SENDERS = 2;
+
+    @Test
+    void batchedSessionsDeliverEveryMessageWithFewerSessions() throws Exception {
+        Run perMessage = run(1);
+        Run batched = run(50);
+
+        logger.info("Email dispatcher, {} messages, {} senders", MESSAGES, SENDERS);
+        logger.info("batch-size 1: {} ms, {} msg/s, {} SMTP sessions",
+                    perMessage.elapsedMs, Math.round(perMessage.rate()), perMessage.sessions);
+        logger.info("batch-size 50: {} ms, {} msg/s, {} SMTP sessions",
+                    batched.elapsedMs, Math.round(batched.rate()), batched.sessions);
+
+        assertEquals(MESSAGES, perMessage.sessions);
+        assertTrue(batched.sessions <= MESSAGES / 10,
+                   "expected batched delivery to reuse sessions, got " + batched.sessions);
+    }
+
+    private Run run(int batchSize) throws Exception {
+        try (LocalSmtpServer server = LocalSmtpServer.start()) {
+            JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+            mailSender.setHost("localhost");
+            mailSender.setPort(server.getPort());
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+            EmailDispatcher dispatcher = new EmailDispatcher();
+            ReflectionTestUtils.setField(dispatcher, "queueCapacity", MESSAGES);
+            ReflectionTestUtils.setField(dispatcher, "senderCount", SENDERS);
+            ReflectionTestUtils.setField(dispatcher, "batchSize", batchSize);
+            ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+            ReflectionTestUtils.setField(dispatcher, "initialBackoffMs", 100L);
+            ReflectionTestUtils.setField(dispatcher, "fromAddress", "no-reply@smartbid.com");
+            ReflectionTestUtils.setField(dispatcher, "mailSender", mailSender);
+            ReflectionTestUtils.setField(dispatcher, "meterRegistry", meterRegistry);
+            dispatcher.start();
+
+            long started = System.nanoTime();
+            for (int i = 0; i < MESSAGES; i++) {
+                assertTrue(dispatcher.send("bidder" + i + "@example.com", "Outbid #" + i, "You have been outbid"));
+            }
+            long giveUp = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(60);
+            while (server.getReceivedCount() < MESSAGES && System.currentTimeMillis() < giveUp) {
+                Thread.sleep(5);
+            }
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            dispatcher.stop();
+
+            assertEquals(MESSAGES, server.getReceivedCount(), "not every message reached the SMTP server");
+            assertEquals(MESSAGES, meterRegistry.counter("smartbid.mail.sent").count());
+            assertEquals(0, meterRegistry.counter("smartbid.mail.dropped").count());
+            return new Run(elapsedMs, server.getSessionCount());
+        }
+    }
+
+    private static final class Run {
+        private final long elapsedMs;
+        private final long sessions;
+
+        Run(long elapsedMs, long sessions) {
+            this.elapsedMs = elapsedMs;
+            this.sessions = sessions;
+        }
+
+        double rate() {
+            return MESSAGES * 1000.0 / Math.max(elapsedMs, 1);
+        }
+    }
+}
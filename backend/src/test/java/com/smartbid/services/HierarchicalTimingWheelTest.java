@@ -0,0 +1,109 @@
+package com.smartbid.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HierarchicalTimingWheelTest {
+
+    // Scheduling jitter allowed on a busy build machine
+    private static final long TOLERANCE_MS = 50;
+
+    private final Map<String, Long> firedAt = new ConcurrentHashMap<>();
+    private final List<String> order = new CopyOnWriteArrayList<>();
+
+    @Test
+    void firesAtTheDeadlineWithinTheTolerance() throws InterruptedException {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(1, 64, Runnable::run);
+        long deadline = System.currentTimeMillis() + 40;
+        wheel.schedule(deadline, record("a"));
+
+        runUntilFired(wheel, 1);
+
+        long fired = firedAt.get("a");
+        assertTrue(fired >= deadline, "fired " + (deadline - fired) + "ms early");
+        assertTrue(fired - deadline <= TOLERANCE_MS, "fired " + (fired - deadline) + "ms late");
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void overflowLevelsCascadeDownAndFireInDeadlineOrder() throws InterruptedException {
+        // 4 buckets of 1ms: 150ms needs three overflow levels before it cascades back to the finest one
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(1, 4, Runnable::run);
+        long now = System.currentTimeMillis();
+        long[] deadlines = {now + 150, now + 3, now + 20, now + 70};
+        for (int i = 0; i < deadlines.length; i++) {
+            wheel.schedule(deadlines[i], record("t" + i));
+        }
+        assertEquals(4, wheel.size());
+
+        runUntilFired(wheel, 4);
+
+        assertEquals(List.of("t1", "t2", "t3", "t0"), order);
+        for (int i = 0; i < deadlines.length; i++) {
+            long fired = firedAt.get("t" + i);
+            assertTrue(fired >= deadlines[i], "t" + i + " fired " + (deadlines[i] - fired) + "ms early");
+            assertTrue(fired - deadlines[i] <= TOLERANCE_MS, "t" + i + " fired " + (fired - deadlines[i]) + "ms late");
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void coarseTicksNeverFireEarly() throws InterruptedException {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(10, 8, Runnable::run);
+        long deadline = System.currentTimeMillis() + 200;
+        wheel.schedule(deadline, record("a"));
+
+        runUntilFired(wheel, 1);
+
+        assertTrue(firedAt.get("a") >= deadline - 10, "fired more than one tick early");
+    }
+
+    @Test
+    void pastDeadlinesRunImmediately() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(1, 64, Runnable::run);
+        HierarchicalTimingWheel.Timeout timeout = wheel.schedule(System.currentTimeMillis() - 1000, record("a"));
+
+        assertTrue(firedAt.containsKey("a"));
+        assertTrue(timeout.isExpired());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancelledTimeoutsNeverRun() throws InterruptedException {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(1, 4, Runnable::run);
+        long now = System.currentTimeMillis();
+        HierarchicalTimingWheel.Timeout cancelled = wheel.schedule(now + 30, record("cancelled"));
+        wheel.schedule(now + 60, record("kept"));
+
+        cancelled.cancel();
+        assertEquals(1, wheel.size());
+
+        runUntilFired(wheel, 1);
+
+        assertEquals(List.of("kept"), order);
+        assertFalse(firedAt.containsKey("cancelled"));
+    }
+
+    private Runnable record(String name) {
+        return () -> {
+            firedAt.put(name, System.currentTimeMillis());
+            order.add(name);
+        };
+    }
+
+    private void runUntilFired(HierarchicalTimingWheel wheel, int count) throws InterruptedException {
+        long giveUp = System.currentTimeMillis() + 5000;
+        while (order.size() < count && System.currentTimeMillis() < giveUp) {
+            wheel.advance(20);
+        }
+        assertEquals(count, order.size(), "timeouts did not fire in time");
+    }
+}
@@ -0,0 +1,125 @@
+package com.smartbid.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LocalSmtpServer is an in-process SMTP sink for email tests and benchmarks
+ * It speaks just enough SMTP for JavaMail (EHLO, MAIL, RCPT, DATA, RSET, NOOP, QUIT),
+ * accepts everything and only counts what it receives and how many sessions delivered it.
+ */
+public class LocalSmtpServer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalSmtpServer.class);
+
+    private final AtomicLong receivedCount = new AtomicLong();
+    private final AtomicLong sessionCount = new AtomicLong();
+    private ServerSocket serverSocket;
+    private ExecutorService sessions;
+
+    /**
+     * Listen on an ephemeral loopback port, see getPort()
+     */
+    public static LocalSmtpServer start() throws IOException {
+        LocalSmtpServer server = new LocalSmtpServer();
+        server.listen();
+        return server;
+    }
+
+    private void listen() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        sessions = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "local-smtp-session");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Thread acceptor = new Thread(this::acceptLoop, "local-smtp-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        logger.info("Local SMTP server listening on port {}", serverSocket.getLocalPort());
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        sessions.shutdownNow();
+    }
+
+    public long getReceivedCount() {
+        return receivedCount.get();
+    }
+
+    public long getSessionCount() {
+        return sessionCount.get();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                sessions.execute(() -> handle(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    logger.warn("Local SMTP accept failed", e);
+                }
+            }
+        }
+    }
+
+    // One SMTP session; a client may send any number of messages before QUIT
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII)) {
+            sessionCount.incrementAndGet();
+            reply(out, "220 localhost SmartBid local SMTP");
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                switch (command) {
+                    case "EHLO" -> reply(out, "250-localhost\r\n250-8BITMIME\r\n250 PIPELINING");
+                    case "HELO" -> reply(out, "250 localhost");
+                    case "MAIL", "RCPT", "RSET", "NOOP" -> reply(out, "250 OK");
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            // Message content is discarded
+                        }
+                        receivedCount.incrementAndGet();
+                        reply(out, "250 OK queued");
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Local SMTP session ended: {}", e.getMessage());
+        }
+    }
+
+    private void reply(Writer out, String response) throws IOException {
+        out.write(response);
+        out.write("\r\n");
+        out.flush();
+    }
+}
@@ -0,0 +1,197 @@
+package com.smartbid.services;
+
+import com.smartbid.models.Auction;
+import com.smartbid.models.Auction.AuctionStatus;
+import com.smartbid.models.Bid;
+import com.smartbid.models.User;
+import com.smartbid.repositories.AuctionRepository;
+import com.smartbid.repositories.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Exact SQL statement counts for the bid, close and list paths, read from Hibernate statistics
+ * Every list is loaded with several rows, so a lazy load per row (an N+1) changes the count and
+ * fails the build. Second-level cache regions are emptied before each measurement so cache hits
+ * do not hide a query. Statements run through JdbcTemplate (the write-behind batches) are not
+ * Hibernate's and are not counted.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class StatementCountTest {
+
+    private static final int ROWS = 5;
+    private static final AtomicInteger names = new AtomicInteger();
+
+    @Autowired
+    private BidService bidService;
+
+    @Autowired
+    private AuctionService auctionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private AuctionFacetIndex facetIndex;
+
+    @Autowired
+    private AuctionSearchIndex searchIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User seller;
+    private List<User> bidders;
+
+    @BeforeEach
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        seller = user();
+        bidders = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            bidders.add(user());
+        }
+    }
+
+    @Test
+    void placeBidOnALoadedBook() {
+        Auction auction = auction(seller, "Vintage camera");
+        bid(auction, bidders.get(0), "20.00");
+
+        long statements = count(() -> bid(auction, bidders.get(1), "25.00"));
+
+        // The write-behind credits the bidder's statistics: one user load and one update
+        assertEquals(2, statements, "placeBid");
+    }
+
+    @Test
+    void closeAuctionWithManyLosingBidders() {
+        Auction auction = auction(seller, "Mechanical keyboard");
+        for (int i = 0; i < ROWS; i++) {
+            bid(auction, bidders.get(i), String.valueOf(20 + i * 5));
+        }
+
+        long statements = count(() -> auctionService.endAuction(auction.getId(), seller));
+
+        // Auction, winning bid with its bidder, losing bids, settle update, losing bidders in one load, auction update
+        assertEquals(6, statements, "closeAuction");
+    }
+
+    @Test
+    void auctionListsLoadEachPageInFixedStatements() {
+        for (int i = 0; i < ROWS; i++) {
+            auction(seller, "Desk lamp " + i);
+        }
+        // A full page, so paged lists run their count query too
+        PageRequest page = PageRequest.of(0, ROWS - 1);
+
+        assertStatements(2, "getAuctionsBySeller", () -> auctionService.getAuctionsBySeller(seller.getId(), page));
+        assertStatements(2, "getAuctionsBySeller scroll",
+            () -> auctionService.getAuctionsBySeller(seller.getId(), null, ROWS - 1, true));
+        assertStatements(1, "getEndingSoonAuctions", () -> auctionService.getEndingSoonAuctions());
+        assertStatements(1, "getPopularAuctions", () -> auctionService.getPopularAuctions());
+        assertStatements(1, "searchAuctionsByTitle", () -> auctionService.searchAuctionsByTitle("lamp", page));
+        assertStatements(1, "browseAuctions",
+            () -> auctionService.browseAuctions("lighting", null, null, null, null, null, null, null, page));
+    }
+
+    @Test
+    void bidListsLoadEachPageInFixedStatements() {
+        // Every bidder bids on one auction, and the first bidder also leads ROWS - 1 others
+        Auction contested = auction(seller, "Record player");
+        for (int i = 0; i < ROWS; i++) {
+            bid(contested, bidders.get(i), String.valueOf(20 + i * 5));
+        }
+        User bidder = bidders.get(0);
+        for (int i = 1; i < ROWS; i++) {
+            bid(auction(seller, "Turntable " + i), bidder, "20.00");
+        }
+        PageRequest page = PageRequest.of(0, ROWS - 1);
+
+        assertStatements(2, "getBidsByAuction", () -> bidService.getBidsByAuction(contested.getId(), page));
+        assertStatements(2, "getBidsByAuction scroll",
+            () -> bidService.getBidsByAuction(contested.getId(), null, ROWS - 1, true));
+        assertStatements(2, "getBidsByUser", () -> bidService.getBidsByUser(bidder.getId(), page));
+        assertStatements(2, "getBidsByUser scroll", () -> bidService.getBidsByUser(bidder.getId(), null, ROWS - 1, true));
+        assertStatements(2, "getWinningBidsForUser", () -> bidService.getWinningBidsForUser(bidder.getId(), page));
+    }
+
+    private void assertStatements(long expected, String method, Supplier<?> work) {
+        work.get(); // Warm anything loaded once per JVM, such as query plans
+        assertEquals(expected, count(work::get), method);
+    }
+
+    // Statements Hibernate prepared while running the work, with the second-level cache emptied first
+    private long count(Runnable work) {
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+        work.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Bid bid(Auction auction, User bidder, String amount) {
+        return bidService.submitBid(auction.getId(), new BigDecimal(amount), bidder).join();
+    }
+
+    private User user() {
+        int n = names.incrementAndGet();
+        User user = new User("user" + n, "user" + n + "@example.com", "password" + n, "First", "Last");
+        user.setCreditScore(BigDecimal.valueOf(700));
+        return userRepository.save(user);
+    }
+
+    // An auction that is already running, filed in the search and facet indexes like a started one
+    private Auction auction(User owner, String title) {
+        LocalDateTime now = LocalDateTime.now();
+        Auction auction = new Auction(title, title + " in working order", new BigDecimal("10.00"),
+            now.minusHours(1), now.plusHours(2), owner);
+        auction.setCategory("Lighting");
+        auction.setStatus(AuctionStatus.ACTIVE);
+        auction.setBidCount(0);
+        auction.setViewCount(0);
+        auction.setWatchCount(0);
+        Auction saved = transactionTemplate.execute(status -> auctionRepository.save(auction));
+        searchIndex.index(saved);
+        facetIndex.index(saved);
+        return saved;
+    }
+
+    @TestConfiguration
+    static class Beans {
+
+        // The security configuration is not part of this module
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder();
+        }
+    }
+}
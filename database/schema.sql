@@ -9,6 +9,7 @@ USE smartbid_db;
 DROP TABLE IF EXISTS auction_watches;
 DROP TABLE IF EXISTS payments;
 DROP TABLE IF EXISTS bids;
+DROP TABLE IF EXISTS bid_seq;
 DROP TABLE IF EXISTS auctions;
 DROP TABLE IF EXISTS users;
 
@@ -97,7 +98,8 @@ CREATE TABLE auctions (
     INDEX idx_category (category),
     INDEX idx_end_time (end_time),
     INDEX idx_current_price (current_price),
-    INDEX idx_start_end_time (start_time, end_time)
+    INDEX idx_start_end_time (start_time, end_time),
+    INDEX idx_user_end_time (user_id, end_time, id)
 );
 
 -- Bids table
@@ -107,8 +109,8 @@ CREATE TABLE bids (
     auction_id BIGINT NOT NULL,
     bid_amount DECIMAL(15,2) NOT NULL,
     max_bid_amount DECIMAL(15,2), -- For automatic bidding
-    status ENUM('ACTIVE', 'OUTBID', 'WINNING', 'WON', 'RETRACTED', 'REJECTED') DEFAULT 'ACTIVE',
-    type ENUM('MANUAL', 'AUTOMATIC', 'BUY_NOW') DEFAULT 'MANUAL',
+    status ENUM('ACTIVE', 'OUTBID', 'WINNING', 'WON', 'LOST', 'RETRACTED', 'REJECTED') DEFAULT 'ACTIVE',
+    type ENUM('MANUAL', 'AUTOMATIC', 'PROXY', 'BUY_NOW') DEFAULT 'MANUAL',
     
     -- Security and fraud detection
     bidder_ip VARCHAR(45),
@@ -127,8 +129,17 @@ CREATE TABLE bids (
     INDEX idx_auction_id (auction_id),
     INDEX idx_bid_amount (bid_amount),
     INDEX idx_created_at (created_at),
-    INDEX idx_status (status)
+    INDEX idx_status (status),
+    INDEX idx_auction_amount_created (auction_id, bid_amount, created_at, id),
+    INDEX idx_bidder_created (bidder_id, created_at, id)
+);
+
+-- Pooled id sequence for bids (allocation size 50) so bid inserts can be batched
+-- On a database that already has bids the application moves next_val past them at startup
+CREATE TABLE bid_seq (
+    next_val BIGINT
 );
+INSERT INTO bid_seq VALUES (1);
 
 -- Payments table
 CREATE TABLE payments (
@@ -176,6 +187,7 @@ CREATE TABLE auction_watches (
     notification_enabled BOOLEAN DEFAULT TRUE,
     email_alerts BOOLEAN DEFAULT TRUE,
     sms_alerts BOOLEAN DEFAULT FALSE,
+    price_alert DECIMAL(15,2),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
@@ -241,7 +253,9 @@ CREATE TABLE chat_messages (
 CREATE TABLE notifications (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     user_id BIGINT NOT NULL,
-    type ENUM('BID_PLACED', 'OUTBID', 'AUCTION_WON', 'AUCTION_ENDED', 'PAYMENT_RECEIVED', 'PRICE_ALERT') NOT NULL,
+    type ENUM('BID_PLACED', 'OUTBID', 'AUCTION_WON', 'AUCTION_LOST', 'AUCTION_SOLD', 'AUCTION_ENDED',
+              'AUCTION_ENDING_SOON', 'RESERVE_NOT_MET', 'PAYMENT_RECEIVED', 'PAYMENT_REMINDER', 'PRICE_ALERT',
+              'WELCOME', 'ACCOUNT_VERIFICATION') NOT NULL,
     title VARCHAR(255) NOT NULL,
     message TEXT NOT NULL,
     is_read BOOLEAN DEFAULT FALSE,
@@ -44,6 +44,9 @@ INSERT INTO bids (bidder_id, auction_id, bid_amount, status, bidder_ip, created_
 (2, 5, 3350.00, 'OUTBID', '192.168.1.10', DATE_SUB(NOW(), INTERVAL 6 HOUR)),
 (4, 5, 3500.00, 'WINNING', '192.168.1.11', DATE_SUB(NOW(), INTERVAL 4 HOUR));
 
+-- Move the bid id sequence past the seeded rows (pooled blocks hand out next_val - 49 .. next_val)
+UPDATE bid_seq SET next_val = (SELECT MAX(id) + 51 FROM bids);
+
 -- Insert sample auction watches
 INSERT INTO auction_watches (user_id, auction_id, notification_enabled, email_alerts) VALUES
 (1, 2, TRUE, TRUE),